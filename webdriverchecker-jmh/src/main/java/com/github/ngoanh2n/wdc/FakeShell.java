@@ -0,0 +1,68 @@
+package com.github.ngoanh2n.wdc;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Fake engine of {@link Shell} for benchmarks, answers known commands with canned output instead of forking.<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/webdriverchecker">ngoanh2n/webdriverchecker</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2020
+ */
+final class FakeShell {
+    private static final String[] none = new String[]{};
+
+    private FakeShell() { /**/ }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Route commands of {@link WebDriverChecker#runShell(String)} to the fake shell.
+     */
+    static void install() {
+        Shell.use(FakeShell::run);
+    }
+
+    /**
+     * Restore forking real processes.
+     */
+    static void uninstall() {
+        Shell.use(null);
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private static CompletableFuture<Shell.Result> run(String command, Duration timeout) {
+        return CompletableFuture.completedFuture(new Shell.Result(0, output(command), none));
+    }
+
+    private static String[] output(String command) {
+        if (command.startsWith("docker inspect")) {
+            return new String[]{
+                    "map[4444/tcp:[{0.0.0.0 4444}] 5900/tcp:[{0.0.0.0 5900}]]",
+                    "map[4723/tcp:[{127.0.0.1 4723}]]"
+            };
+        }
+        if (command.equals("adb devices")) {
+            return new String[]{
+                    "List of devices attached",
+                    "emulator-5554\tdevice",
+                    "R58M42ABCDE\tdevice"
+            };
+        }
+        if (command.equals("xcrun simctl list")) {
+            return new String[]{
+                    "== Devices ==",
+                    "-- iOS 17.5 --",
+                    "    iPhone 15 (8A5B3C1E-4F2D-4E6A-9B7C-0D1E2F3A4B5C) (Booted)",
+                    "    iPad Air (11-inch) (0F1E2D3C-4B5A-6978-8695-A4B3C2D1E0F9) (Shutdown)"
+            };
+        }
+        return none;
+    }
+}
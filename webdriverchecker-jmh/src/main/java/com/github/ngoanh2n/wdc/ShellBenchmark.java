@@ -0,0 +1,71 @@
+package com.github.ngoanh2n.wdc;
+
+import org.openjdk.jmh.annotations.*;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark Shell based checkers through {@link FakeShell}, without the verdict cache of {@link Session}.<br>
+ * Probes expire immediately ({@code wdc.probe.ttl=0}), so every call parses the output of a fake command.<br>
+ * Checkers are constructed with the Shell probes, so Docker Engine API and ADB server of the host are never asked.<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/webdriverchecker">ngoanh2n/webdriverchecker</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2020
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Dwdc.probe.ttl=0")
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+public class ShellBenchmark {
+    private final WebDriverChecker docker = new CheckerType.Docker(new DockerCli());
+    private final WebDriverChecker mobileVirtual = new CheckerType.MobileVirtual(false);
+    private RemoteWebDriver pc;
+    private RemoteWebDriver android;
+    private RemoteWebDriver ios;
+
+    @Setup
+    public void setup() {
+        FakeShell.install();
+        pc = StubDriver.of("chrome-linux");
+        android = StubDriver.of("android-chrome");
+        ios = StubDriver.of("ios-native");
+    }
+
+    @TearDown
+    public void tearDown() {
+        pc.quit();
+        android.quit();
+        ios.quit();
+        FakeShell.uninstall();
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    @Benchmark
+    public String[] runShell() {
+        return WebDriverChecker.runShell("xcrun simctl list");
+    }
+
+    @Benchmark
+    public boolean isDocker() {
+        return docker.check(pc);
+    }
+
+    @Benchmark
+    public boolean isMobileVirtualAndroid() {
+        return mobileVirtual.check(android);
+    }
+
+    @Benchmark
+    public boolean isMobileVirtualIOS() {
+        return mobileVirtual.check(ios);
+    }
+}
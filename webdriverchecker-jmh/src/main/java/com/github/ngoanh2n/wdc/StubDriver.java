@@ -0,0 +1,69 @@
+package com.github.ngoanh2n.wdc;
+
+import com.github.ngoanh2n.wdc.driver.StubDriverProvider;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.Map;
+
+/**
+ * {@link RemoteWebDriver} stubs for benchmarks, no browser or server is started.<br>
+ * Drivers are created by {@link StubDriverProvider} of the tests, its fake executor answers every command successfully,
+ * and {@code newSession} with canned capabilities.<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/webdriverchecker">ngoanh2n/webdriverchecker</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2020
+ */
+final class StubDriver {
+    private StubDriver() { /**/ }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Create a stub driver of a scenario.
+     *
+     * @param scenario One of {@code chrome-linux}, {@code safari-macos}, {@code android-chrome},
+     *                 {@code ios-native}, {@code browserstack}.
+     * @return The {@link RemoteWebDriver}.
+     */
+    static RemoteWebDriver of(String scenario) {
+        return switch (scenario) {
+            case "chrome-linux" -> of("http://localhost:4444", Map.of(
+                    "browserName", "chrome",
+                    "browserVersion", "129.0.6668.89",
+                    "platformName", "linux"));
+            case "safari-macos" -> of("http://127.0.0.1:4444", Map.of(
+                    "browserName", "safari",
+                    "browserVersion", "17.6",
+                    "platformName", "mac"));
+            case "android-chrome" -> of("http://127.0.0.1:4723", Map.of(
+                    "browserName", "chrome",
+                    "platformName", "android",
+                    "appium:deviceUDID", "emulator-5554"));
+            case "ios-native" -> of("http://127.0.0.1:4723", Map.of(
+                    "platformName", "iOS",
+                    "appium:app", "/tmp/App.app",
+                    "appium:udid", "8A5B3C1E-4F2D-4E6A-9B7C-0D1E2F3A4B5C"));
+            case "browserstack" -> of("https://hub.browserstack.com/wd/hub", Map.of(
+                    "browserName", "chrome",
+                    "browserVersion", "latest",
+                    "platformName", "windows"));
+            default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        };
+    }
+
+    /**
+     * Create a stub driver.
+     *
+     * @param url          The URL of the fake server.
+     * @param capabilities The capabilities the fake server returns for {@code newSession}.
+     * @return The {@link RemoteWebDriver}.
+     */
+    static RemoteWebDriver of(String url, Map<String, Object> capabilities) {
+        return StubDriverProvider.createDriver(url, capabilities);
+    }
+}
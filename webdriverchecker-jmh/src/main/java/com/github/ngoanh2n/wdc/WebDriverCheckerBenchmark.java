@@ -0,0 +1,240 @@
+package com.github.ngoanh2n.wdc;
+
+import org.openjdk.jmh.annotations.*;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark every public checker of {@link WebDriverChecker} against {@link StubDriver}.<br>
+ * It reports throughput and latency percentiles, the {@code jmh} task adds the GC profiler for allocation rate.<br>
+ * Shell based checkers run through {@link FakeShell}, see {@link ShellBenchmark} for their uncached cost.<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/webdriverchecker">ngoanh2n/webdriverchecker</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2020
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+public class WebDriverCheckerBenchmark {
+    @Param({"chrome-linux", "safari-macos", "android-chrome", "ios-native", "browserstack"})
+    public String scenario;
+    private RemoteWebDriver driver;
+
+    @Setup
+    public void setup() {
+        FakeShell.install();
+        driver = StubDriver.of(scenario);
+    }
+
+    @TearDown
+    public void tearDown() {
+        driver.quit();
+        FakeShell.uninstall();
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    @Benchmark
+    public boolean isMacOS() {
+        return WebDriverChecker.isMacOS(driver);
+    }
+
+    @Benchmark
+    public boolean isLinux() {
+        return WebDriverChecker.isLinux(driver);
+    }
+
+    @Benchmark
+    public boolean isWindows() {
+        return WebDriverChecker.isWindows(driver);
+    }
+
+    @Benchmark
+    public boolean isPC() {
+        return WebDriverChecker.isPC(driver);
+    }
+
+    @Benchmark
+    public boolean isIOS() {
+        return WebDriverChecker.isIOS(driver);
+    }
+
+    @Benchmark
+    public boolean isAndroid() {
+        return WebDriverChecker.isAndroid(driver);
+    }
+
+    @Benchmark
+    public boolean isMobile() {
+        return WebDriverChecker.isMobile(driver);
+    }
+
+    @Benchmark
+    public boolean isAlive() {
+        return WebDriverChecker.isAlive(driver);
+    }
+
+    @Benchmark
+    public boolean isLocal() {
+        return WebDriverChecker.isLocal(driver);
+    }
+
+    @Benchmark
+    public boolean isRemote() {
+        return WebDriverChecker.isRemote(driver);
+    }
+
+    @Benchmark
+    public boolean isDocker() {
+        return WebDriverChecker.isDocker(driver);
+    }
+
+    @Benchmark
+    public boolean isBrowser() {
+        return WebDriverChecker.isBrowser(driver);
+    }
+
+    @Benchmark
+    public boolean isNative() {
+        return WebDriverChecker.isNative(driver);
+    }
+
+    @Benchmark
+    public boolean isChrome() {
+        return WebDriverChecker.isChrome(driver);
+    }
+
+    @Benchmark
+    public boolean isSafari() {
+        return WebDriverChecker.isSafari(driver);
+    }
+
+    @Benchmark
+    public boolean isEdge() {
+        return WebDriverChecker.isEdge(driver);
+    }
+
+    @Benchmark
+    public boolean isFirefox() {
+        return WebDriverChecker.isFirefox(driver);
+    }
+
+    @Benchmark
+    public boolean isOpera() {
+        return WebDriverChecker.isOpera(driver);
+    }
+
+    @Benchmark
+    public boolean isIE() {
+        return WebDriverChecker.isIE(driver);
+    }
+
+    @Benchmark
+    public boolean isPCBrowser() {
+        return WebDriverChecker.isPCBrowser(driver);
+    }
+
+    @Benchmark
+    public boolean isPCNative() {
+        return WebDriverChecker.isPCNative(driver);
+    }
+
+    @Benchmark
+    public boolean isMacOSNative() {
+        return WebDriverChecker.isMacOSNative(driver);
+    }
+
+    @Benchmark
+    public boolean isWindowsNative() {
+        return WebDriverChecker.isWindowsNative(driver);
+    }
+
+    @Benchmark
+    public boolean isLocalServer() {
+        return WebDriverChecker.isLocalServer(driver);
+    }
+
+    @Benchmark
+    public boolean isRemoteServer() {
+        return WebDriverChecker.isRemoteServer(driver);
+    }
+
+    @Benchmark
+    public boolean isIOSBrowser() {
+        return WebDriverChecker.isIOSBrowser(driver);
+    }
+
+    @Benchmark
+    public boolean isIOSNative() {
+        return WebDriverChecker.isIOSNative(driver);
+    }
+
+    @Benchmark
+    public boolean isIOSVirtual() {
+        return WebDriverChecker.isIOSVirtual(driver);
+    }
+
+    @Benchmark
+    public boolean isAndroidBrowser() {
+        return WebDriverChecker.isAndroidBrowser(driver);
+    }
+
+    @Benchmark
+    public boolean isAndroidNative() {
+        return WebDriverChecker.isAndroidNative(driver);
+    }
+
+    @Benchmark
+    public boolean isAndroidVirtual() {
+        return WebDriverChecker.isAndroidVirtual(driver);
+    }
+
+    @Benchmark
+    public boolean isMobileBrowser() {
+        return WebDriverChecker.isMobileBrowser(driver);
+    }
+
+    @Benchmark
+    public boolean isMobileNative() {
+        return WebDriverChecker.isMobileNative(driver);
+    }
+
+    @Benchmark
+    public boolean isMobileVirtual() {
+        return WebDriverChecker.isMobileVirtual(driver);
+    }
+
+    @Benchmark
+    public boolean isLambdaTest() {
+        return WebDriverChecker.isLambdaTest(driver);
+    }
+
+    @Benchmark
+    public boolean isBrowserStack() {
+        return WebDriverChecker.isBrowserStack(driver);
+    }
+
+    @Benchmark
+    public boolean isSauceLabs() {
+        return WebDriverChecker.isSauceLabs(driver);
+    }
+
+    @Benchmark
+    public boolean isTestingBot() {
+        return WebDriverChecker.isTestingBot(driver);
+    }
+
+    @Benchmark
+    public DriverProfile profile() {
+        return WebDriverChecker.profile(driver);
+    }
+}
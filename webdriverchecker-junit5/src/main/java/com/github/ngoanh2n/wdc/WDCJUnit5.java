@@ -33,4 +33,13 @@ public class WDCJUnit5 extends WebDriverJUnit5 implements WebDriverProvider {
         }
         return driver;
     }
+
+    /**
+     * {@inheritDoc}<br>
+     * It's asked before providers of other libraries, such as Selenide.
+     */
+    @Override
+    public int priority() {
+        return 10;
+    }
 }
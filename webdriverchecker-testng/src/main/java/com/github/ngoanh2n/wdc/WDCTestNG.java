@@ -33,4 +33,13 @@ public class WDCTestNG extends WebDriverTestNG implements WebDriverProvider {
         }
         return driver;
     }
+
+    /**
+     * {@inheritDoc}<br>
+     * It's asked before providers of other libraries, such as Selenide.
+     */
+    @Override
+    public int priority() {
+        return 10;
+    }
 }
@@ -0,0 +1,256 @@
+package com.github.ngoanh2n.wdc;
+
+import org.openqa.selenium.remote.CommandCodec;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.CommandInfo;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read private fields of Selenium classes which {@link WebDriverChecker} depends on.<br>
+ * A {@link MethodHandle} is resolved once per class, then reads cost as much as a field access.
+ * Handles on {@link HttpCommandExecutor} and {@link CommandInfo} are resolved all together when this class is loaded,
+ * so an incompatible Selenium fails the first check with one {@link CheckerException.UnsupportedSelenium}
+ * which names every missing field, instead of failing later checks one by one.
+ * Decorators of {@link CommandExecutor} (e.g. {@code TracedCommandExecutor}) are unwrapped at any depth
+ * by following their fields of type {@link CommandExecutor}.<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/webdriverchecker">ngoanh2n/webdriverchecker</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/webdriverchecker">com.github.ngoanh2n:webdriverchecker</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2020
+ */
+final class Accessors {
+    private static final int depth = 16;
+    private static final MethodType getter = MethodType.methodType(Object.class, Object.class);
+    private static final Getter<URL> serverField = new Getter<>("remoteServer", URL.class);
+    private static final Getter<CommandCodec> codecField = new Getter<>("commandCodec", CommandCodec.class);
+    private static final Getter<String> urlField = new Getter<>("url", String.class);
+    private static final Getter<HttpMethod> methodField = new Getter<>("method", HttpMethod.class);
+    private static final List<String> missing = resolve(HttpCommandExecutor.class, CommandInfo.class);
+    private static final ClassValue<List<MethodHandle>> delegates = new ClassValue<>() {
+        @Override
+        protected List<MethodHandle> computeValue(Class<?> type) {
+            List<MethodHandle> handles = new ArrayList<>();
+            for (Class<?> owner = type; owner != null; owner = owner.getSuperclass()) {
+                for (Field field : owner.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && CommandExecutor.class.isAssignableFrom(field.getType())) {
+                        unreflect(field).ifPresent(handles::add);
+                    }
+                }
+            }
+            return Collections.unmodifiableList(handles);
+        }
+    };
+
+    private Accessors() { /**/ }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Check whether the running Selenium has all fields which {@link WebDriverChecker} reads.
+     * It's called at the first check of a session, and costs a field read.
+     *
+     * @throws CheckerException.UnsupportedSelenium if any field is missing.
+     */
+    static void verify() {
+        if (!missing.isEmpty()) {
+            throw new CheckerException.UnsupportedSelenium(missing);
+        }
+    }
+
+    /**
+     * Resolve handles of all fields which {@link WebDriverChecker} reads.
+     *
+     * @param executor The class which holds the server URL and the codec, e.g. {@link HttpCommandExecutor}.
+     * @param info     The class which holds the URL template and the HTTP method, e.g. {@link CommandInfo}.
+     * @return Missing fields as {@code <class>.<field>}, empty if all of them are resolved.
+     */
+    static List<String> resolve(Class<?> executor, Class<?> info) {
+        List<String> fields = new ArrayList<>();
+        for (Getter<?> getter : List.of(serverField, codecField)) {
+            if (!getter.supports(executor)) {
+                fields.add(executor.getName() + "." + getter.name);
+            }
+        }
+        for (Getter<?> getter : List.of(urlField, methodField)) {
+            if (!getter.supports(info)) {
+                fields.add(info.getName() + "." + getter.name);
+            }
+        }
+        return Collections.unmodifiableList(fields);
+    }
+
+    /**
+     * Get URL of the server which a {@link CommandExecutor} sends commands to.
+     *
+     * @param ce The {@link CommandExecutor}, can be wrapped by decorators.
+     * @return The server URL.
+     * @throws CheckerException.UnsupportedSelenium if no executor in the chain holds the URL.
+     */
+    static URL serverURL(CommandExecutor ce) {
+        return serverField.get(unwrap(ce, serverField));
+    }
+
+    /**
+     * Get {@link CommandCodec} of a {@link CommandExecutor}.
+     *
+     * @param ce The {@link CommandExecutor}, can be wrapped by decorators.
+     * @return The {@link CommandCodec}, {@code null} before the session is created.
+     * @throws CheckerException.UnsupportedSelenium if no executor in the chain holds the codec.
+     */
+    @SuppressWarnings("unchecked")
+    static CommandCodec<HttpRequest> commandCodec(CommandExecutor ce) {
+        return (CommandCodec<HttpRequest>) codecField.get(unwrap(ce, codecField));
+    }
+
+    /**
+     * Get URL template of a {@link CommandInfo}.
+     *
+     * @param info The {@link CommandInfo}.
+     * @return The URL template, e.g. {@code /session/:sessionId/timeouts}.
+     */
+    static String url(CommandInfo info) {
+        return urlField.get(info);
+    }
+
+    /**
+     * Get {@link HttpMethod} of a {@link CommandInfo}.
+     *
+     * @param info The {@link CommandInfo}.
+     * @return The {@link HttpMethod}.
+     */
+    static HttpMethod method(CommandInfo info) {
+        return methodField.get(info);
+    }
+
+    /**
+     * Unwrap decorators of a {@link CommandExecutor} until an executor holds a field.
+     *
+     * @param ce     The {@link CommandExecutor}.
+     * @param getter The {@link Getter} of the field.
+     * @return The executor which holds the field.
+     * @throws CheckerException.UnsupportedSelenium if no executor in the chain holds the field.
+     */
+    static CommandExecutor unwrap(CommandExecutor ce, Getter<?> getter) {
+        CommandExecutor current = ce;
+        for (int i = 0; i < depth && current != null; i++) {
+            if (getter.supports(current.getClass())) {
+                return current;
+            }
+            current = delegate(current);
+        }
+        throw new CheckerException.UnsupportedSelenium(ce.getClass(), getter.name);
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private static CommandExecutor delegate(CommandExecutor ce) {
+        for (MethodHandle handle : delegates.get(ce.getClass())) {
+            Object value = invoke(handle, ce);
+            if (value instanceof CommandExecutor && value != ce) {
+                return (CommandExecutor) value;
+            }
+        }
+        return null;
+    }
+
+    private static Optional<MethodHandle> find(Class<?> type, String name) {
+        for (Class<?> owner = type; owner != null; owner = owner.getSuperclass()) {
+            for (Field field : owner.getDeclaredFields()) {
+                if (field.getName().equals(name) && !Modifier.isStatic(field.getModifiers())) {
+                    return unreflect(field);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<MethodHandle> unreflect(Field field) {
+        try {
+            field.setAccessible(true);
+            return Optional.of(MethodHandles.lookup().unreflectGetter(field).asType(getter));
+        } catch (ReflectiveOperationException | RuntimeException ignored) {
+            // The module of the field isn't open
+            return Optional.empty();
+        }
+    }
+
+    private static Object invoke(MethodHandle handle, Object target) {
+        try {
+            return (Object) handle.invokeExact(target);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new CheckerException(t);
+        }
+    }
+
+    //===============================================================================//
+
+    /**
+     * Getter of an instance field, its {@link MethodHandle} is cached per class.
+     *
+     * @param <T> The type of the field.
+     */
+    static final class Getter<T> {
+        private final String name;
+        private final Class<T> type;
+        private final ClassValue<Optional<MethodHandle>> handles = new ClassValue<>() {
+            @Override
+            protected Optional<MethodHandle> computeValue(Class<?> owner) {
+                return find(owner, name);
+            }
+        };
+
+        /**
+         * Construct a new {@link Getter}.
+         *
+         * @param name The name of the field.
+         * @param type The type of the field.
+         */
+        Getter(String name, Class<T> type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        /**
+         * Check whether a class declares the field, or inherits it.
+         *
+         * @param owner The class.
+         * @return true if the field can be read.
+         */
+        boolean supports(Class<?> owner) {
+            return handles.get(owner).isPresent();
+        }
+
+        /**
+         * Read the field.
+         *
+         * @param target The object holds the field.
+         * @return The value of the field.
+         * @throws CheckerException.UnsupportedSelenium if the class of the target doesn't hold the field.
+         */
+        T get(Object target) {
+            MethodHandle handle = handles.get(target.getClass())
+                    .orElseThrow(() -> new CheckerException.UnsupportedSelenium(target.getClass(), name));
+            return type.cast(invoke(handle, target));
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.github.ngoanh2n.wdc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Client of ADB host protocol, talks to the ADB server directly instead of forking {@code adb devices}.
+ * <ul>
+ *     <li>{@code host:devices-l} lists connected devices by one request</li>
+ *     <li>{@code host:track-devices-l} keeps a background connection, the ADB server pushes the list on every change</li>
+ * </ul>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/webdriverchecker">ngoanh2n/webdriverchecker</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/webdriverchecker">com.github.ngoanh2n:webdriverchecker</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2020
+ */
+final class Adb {
+    private static final Pattern emulator = Pattern.compile("^emulator-\\d+$");
+    private static final int timeout = 2000;
+    private static final int defaultPort = 5037;
+    private static final long retry = TimeUnit.SECONDS.toNanos(5);
+    private final InetSocketAddress address;
+    private volatile Set<String> tracked;
+    private volatile Thread tracker;
+    private volatile long nextAttempt = System.nanoTime();
+
+    /**
+     * Construct a new {@link Adb}.
+     *
+     * @param address The address of the ADB server.
+     */
+    Adb(InetSocketAddress address) {
+        this.address = address;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Get the client of the ADB server on this host.
+     * The port is read from environment variable {@code ANDROID_ADB_SERVER_PORT}, {@code 5037} by default.
+     *
+     * @return The {@link Adb}.
+     */
+    static Adb local() {
+        return new Adb(new InetSocketAddress(InetAddress.getLoopbackAddress(), port(System.getenv("ANDROID_ADB_SERVER_PORT"))));
+    }
+
+    /**
+     * Parse the port of the ADB server, it never fails.
+     *
+     * @param value The value of {@code ANDROID_ADB_SERVER_PORT}.
+     * @return The port, {@code 5037} if the value is empty, isn't a number or is out of {@code [1, 65535]}.
+     */
+    static int port(String value) {
+        if (value == null || value.isBlank()) {
+            return defaultPort;
+        }
+        try {
+            int port = Integer.parseInt(value.trim());
+            return port >= 1 && port <= 65535 ? port : defaultPort;
+        } catch (NumberFormatException ignored) {
+            return defaultPort;
+        }
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Get serials of connected emulators.
+     * The list pushed by the tracker is used if it's connected, otherwise it's requested by {@code host:devices-l}.
+     *
+     * @return Serials of connected emulators.
+     */
+    Set<String> emulators() {
+        Set<String> devices = tracked;
+        if (devices == null) {
+            devices = devices();
+        }
+        return emulators(devices);
+    }
+
+    /**
+     * Get serials of connected devices by {@code host:devices-l}.
+     *
+     * @return Serials of connected devices.
+     */
+    Set<String> devices() {
+        try (Socket socket = new Socket()) {
+            socket.connect(address, timeout);
+            socket.setSoTimeout(timeout);
+
+            InputStream is = socket.getInputStream();
+            send(socket.getOutputStream(), is, "host:devices-l");
+            return parse(receive(is));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Start tracking connected devices by {@code host:track-devices-l} on a daemon thread.
+     * It does nothing if the tracker is running, or the last attempt failed recently.
+     *
+     * @return true if the tracker is running.
+     */
+    synchronized boolean track() {
+        if (tracker != null) {
+            return true;
+        }
+        if (System.nanoTime() - nextAttempt < 0) {
+            return false;
+        }
+
+        tracker = new Thread(this::runTracker, "wdc-adb-tracker");
+        tracker.setDaemon(true);
+        tracker.start();
+        return true;
+    }
+
+    /**
+     * Check whether the tracker has received the list of devices and is still connected.
+     *
+     * @return true if the list of devices is pushed by the ADB server.
+     */
+    boolean isTracking() {
+        return tracked != null;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private void runTracker() {
+        try (Socket socket = new Socket()) {
+            socket.connect(address, timeout);
+            InputStream is = socket.getInputStream();
+            send(socket.getOutputStream(), is, "host:track-devices-l");
+
+            while (!Thread.currentThread().isInterrupted()) {
+                tracked = parse(receive(is));
+            }
+        } catch (IOException ignored) {
+            // The ADB server is down or has closed the connection
+        } finally {
+            synchronized (this) {
+                tracked = null;
+                tracker = null;
+                nextAttempt = System.nanoTime() + retry;
+            }
+        }
+    }
+
+    private static void send(OutputStream os, InputStream is, String service) throws IOException {
+        byte[] payload = service.getBytes(UTF_8);
+        os.write(String.format("%04x", payload.length).getBytes(UTF_8));
+        os.write(payload);
+        os.flush();
+
+        String status = new String(is.readNBytes(4), UTF_8);
+        if (status.equals("FAIL")) {
+            throw new IOException("ADB server refused " + service + ": " + receive(is));
+        }
+        if (!status.equals("OKAY")) {
+            throw new IOException("Unexpected status from ADB server: " + status);
+        }
+    }
+
+    private static String receive(InputStream is) throws IOException {
+        byte[] header = is.readNBytes(4);
+        if (header.length < 4) {
+            throw new IOException("Connection to ADB server is closed");
+        }
+
+        int length;
+        try {
+            length = Integer.parseInt(new String(header, UTF_8), 16);
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed length from ADB server", e);
+        }
+
+        byte[] payload = is.readNBytes(length);
+        if (payload.length < length) {
+            throw new IOException("Connection to ADB server is closed");
+        }
+        return new String(payload, UTF_8);
+    }
+
+    private static Set<String> parse(String payload) {
+        Set<String> serials = new LinkedHashSet<>();
+        for (String line : payload.split("\n")) {
+            String[] columns = line.trim().split("\\s+");
+            if (columns.length >= 2 && !columns[0].isEmpty()) {
+                serials.add(columns[0]);
+            }
+        }
+        return Collections.unmodifiableSet(serials);
+    }
+
+    private static Set<String> emulators(Set<String> devices) {
+        Set<String> serials = new LinkedHashSet<>();
+        for (String device : devices) {
+            if (emulator.matcher(device).matches()) {
+                serials.add(device);
+            }
+        }
+        return serials;
+    }
+}
@@ -0,0 +1,326 @@
+package com.github.ngoanh2n.wdc;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Browser version of {@link WebDriver}, is parsed once per session from capability {@code browserVersion} or {@code version}.
+ * <ul>
+ *     <li>{@code 124.0.6367.91} is major {@code 124}, minor {@code 0}, build {@code 6367}, patch {@code 91}</li>
+ *     <li>{@code 128.0b3} is major {@code 128}, minor {@code 0}, channel {@code b3}</li>
+ *     <li>{@code latest} or {@code stable} isn't numeric, it only has channel</li>
+ * </ul>
+ * A range is a space separated list of conditions which all must hold, e.g. {@code >=120 <125}.
+ * A condition is an operator {@code =}, {@code !=}, {@code >}, {@code >=}, {@code <}, {@code <=} and a version,
+ * which is compared on the parts it has: {@code <=124} holds for {@code 124.0.6367.91}.
+ * A condition without an operator means {@code =}, and a word means a channel, e.g. {@code latest}.
+ * An operator must be followed by its version without a space, so {@code > 120} is invalid.<br>
+ * Versions are equal when they compare as equal, e.g. {@code 120.0} equals {@code 120.0.0}.<br>
+ * Ranges are compiled once and cached.<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/webdriverchecker">ngoanh2n/webdriverchecker</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/webdriverchecker">com.github.ngoanh2n:webdriverchecker</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2020
+ */
+public final class BrowserVersion implements Comparable<BrowserVersion> {
+    /**
+     * Version of a session which doesn't report it.
+     */
+    public static final BrowserVersion EMPTY = new BrowserVersion("", new int[]{}, "");
+    private static final int capacity = 256;
+    private static final Pattern numeric = Pattern.compile("^(\\d+)(?:\\.(\\d+))?(?:\\.(\\d+))?(?:\\.(\\d+))?[.\\-_ ]?(.*)$");
+    private static final Pattern condition = Pattern.compile("^(>=|<=|!=|=|>|<)?([^<>=!].*)$");
+    private static final Map<String, Range> ranges = new ConcurrentHashMap<>();
+    private final String raw;
+    private final int[] parts;
+    private final String channel;
+
+    private BrowserVersion(String raw, int[] parts, String channel) {
+        this.raw = raw;
+        this.parts = parts;
+        this.channel = channel;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Parse a browser version, it never fails.
+     *
+     * @param value The version reported by the session, e.g. {@code 124.0.6367.91} or {@code latest}.
+     * @return The {@link BrowserVersion}.
+     */
+    public static BrowserVersion parse(String value) {
+        String raw = value == null ? "" : value.trim();
+        if (raw.isEmpty()) {
+            return EMPTY;
+        }
+
+        Matcher matcher = numeric.matcher(raw);
+        if (!matcher.matches()) {
+            return new BrowserVersion(raw, new int[]{}, raw.toLowerCase(Locale.ROOT));
+        }
+
+        List<Integer> values = new ArrayList<>(4);
+        for (int group = 1; group <= 4 && matcher.group(group) != null; group++) {
+            try {
+                values.add(Integer.parseInt(matcher.group(group)));
+            } catch (NumberFormatException ignored) {
+                // Too large to be a version part, keep the parts before it
+                break;
+            }
+        }
+        if (values.isEmpty()) {
+            return new BrowserVersion(raw, new int[]{}, raw.toLowerCase(Locale.ROOT));
+        }
+
+        int[] parts = values.stream().mapToInt(Integer::intValue).toArray();
+        return new BrowserVersion(raw, parts, matcher.group(5).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Compile a range, the result is cached per expression.
+     *
+     * @param expression The range, e.g. {@code >=120 <125}.
+     * @return The {@link Range}.
+     * @throws IllegalArgumentException if the expression is invalid.
+     */
+    public static Range range(String expression) {
+        if (expression == null) {
+            throw new IllegalArgumentException("Browser version range is null");
+        }
+
+        Range range = ranges.get(expression);
+        if (range == null) {
+            if (ranges.size() >= capacity) {
+                ranges.clear();
+            }
+            range = ranges.computeIfAbsent(expression, Range::compile);
+        }
+        return range;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Whether the version has numeric parts.
+     *
+     * @return true if it has at least the major number.
+     */
+    public boolean isNumeric() {
+        return parts.length != 0;
+    }
+
+    /**
+     * Get the major number.
+     *
+     * @return The major number, {@code 0} if it isn't numeric.
+     */
+    public int getMajor() {
+        return part(0);
+    }
+
+    /**
+     * Get the minor number.
+     *
+     * @return The minor number, {@code 0} if it isn't reported.
+     */
+    public int getMinor() {
+        return part(1);
+    }
+
+    /**
+     * Get the build number.
+     *
+     * @return The build number, {@code 0} if it isn't reported.
+     */
+    public int getBuild() {
+        return part(2);
+    }
+
+    /**
+     * Get the patch number.
+     *
+     * @return The patch number, {@code 0} if it isn't reported.
+     */
+    public int getPatch() {
+        return part(3);
+    }
+
+    /**
+     * Get the channel, the part which isn't numeric.
+     *
+     * @return Lowercase channel, e.g. {@code latest}, {@code beta} or {@code b3}, empty if there's none.
+     */
+    public String getChannel() {
+        return channel;
+    }
+
+    /**
+     * Check whether the version is in a range.
+     *
+     * @param expression The range, e.g. {@code >=120 <125}.
+     * @return true if it's in the range.
+     * @throws IllegalArgumentException if the expression is invalid.
+     */
+    public boolean matches(String expression) {
+        return range(expression).test(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Versions are compared by numeric parts, a version which isn't numeric is lower than any numeric one.
+     * Then a version with a channel is lower than one without, e.g. {@code 128.0b3} is lower than {@code 128.0},
+     * and channels are compared alphabetically.
+     */
+    @Override
+    public int compareTo(BrowserVersion other) {
+        for (int i = 0; i < 4; i++) {
+            int result = Integer.compare(part(i), other.part(i));
+            if (result != 0) {
+                return result;
+            }
+        }
+        int result = Boolean.compare(isNumeric(), other.isNumeric());
+        if (result != 0) {
+            return result;
+        }
+        if (channel.isEmpty() != other.channel.isEmpty()) {
+            return channel.isEmpty() ? 1 : -1;
+        }
+        return channel.compareTo(other.channel);
+    }
+
+    /**
+     * {@inheritDoc}
+     * It's consistent with {@link #compareTo(BrowserVersion)}, missing parts are {@code 0}.
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof BrowserVersion && compareTo((BrowserVersion) other) == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(getMajor(), getMinor(), getBuild(), getPatch(), isNumeric(), channel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return raw;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private int part(int index) {
+        return index < parts.length ? parts[index] : 0;
+    }
+
+    //===============================================================================//
+
+    /**
+     * Compiled range of {@link BrowserVersion}.
+     */
+    public static final class Range implements Predicate<BrowserVersion> {
+        private final String expression;
+        private final Predicate<BrowserVersion> predicate;
+
+        private Range(String expression, Predicate<BrowserVersion> predicate) {
+            this.expression = expression;
+            this.predicate = predicate;
+        }
+
+        //-------------------------------------------------------------------------------//
+
+        /**
+         * Check whether a version is in the range.
+         *
+         * @param version The {@link BrowserVersion}.
+         * @return true if all conditions hold.
+         */
+        @Override
+        public boolean test(BrowserVersion version) {
+            return predicate.test(version);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return expression;
+        }
+
+        //-------------------------------------------------------------------------------//
+
+        private static Range compile(String expression) {
+            String[] tokens = expression == null ? new String[]{} : expression.trim().split("\\s+");
+            if (tokens.length == 0 || tokens[0].isEmpty()) {
+                throw new IllegalArgumentException("Browser version range is empty");
+            }
+
+            Predicate<BrowserVersion> predicate = version -> true;
+            for (String token : tokens) {
+                predicate = predicate.and(condition(expression, token));
+            }
+            return new Range(expression, predicate);
+        }
+
+        private static Predicate<BrowserVersion> condition(String expression, String token) {
+            Matcher matcher = condition.matcher(token);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Invalid browser version range: " + expression);
+            }
+
+            String operator = matcher.group(1) == null ? "=" : matcher.group(1);
+            BrowserVersion bound = parse(matcher.group(2));
+            if (!bound.isNumeric()) {
+                if (operator.equals("=")) {
+                    return version -> version.channel.equals(bound.channel);
+                }
+                if (operator.equals("!=")) {
+                    return version -> !version.channel.equals(bound.channel);
+                }
+                throw new IllegalArgumentException("Invalid browser version range: " + expression);
+            }
+            if (!bound.channel.isEmpty()) {
+                throw new IllegalArgumentException("Invalid browser version range: " + expression);
+            }
+
+            int length = bound.parts.length;
+            return switch (operator) {
+                case "=" -> version -> version.isNumeric() && compare(version, bound, length) == 0;
+                case "!=" -> version -> !version.isNumeric() || compare(version, bound, length) != 0;
+                case ">" -> version -> version.isNumeric() && compare(version, bound, length) > 0;
+                case ">=" -> version -> version.isNumeric() && compare(version, bound, length) >= 0;
+                case "<" -> version -> version.isNumeric() && compare(version, bound, length) < 0;
+                default -> version -> version.isNumeric() && compare(version, bound, length) <= 0;
+            };
+        }
+
+        private static int compare(BrowserVersion version, BrowserVersion bound, int length) {
+            for (int i = 0; i < length; i++) {
+                int result = Integer.compare(version.part(i), bound.parts[i]);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.github.ngoanh2n.wdc;
+
+/**
+ * Checks of {@link WebDriverChecker}, to combine several of them in one call.
+ * <pre>{@code
+ * boolean result = WebDriverChecker.matches(driver,
+ *         EnumSet.of(Check.ANDROID, Check.NATIVE),
+ *         EnumSet.of(Check.ANDROID_VIRTUAL));
+ * }</pre>
+ * Each check is also a slot of the per-session verdict table, a bit of {@link Session}'s bitset,
+ * so a memoized verdict costs a bit test.<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/webdriverchecker">ngoanh2n/webdriverchecker</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/webdriverchecker">com.github.ngoanh2n:webdriverchecker</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2020
+ */
+public enum Check {
+    /**
+     * Platform is macOS.
+     */
+    MACOS(Cost.CAPABILITY),
+    /**
+     * Platform is Linux.
+     */
+    LINUX(Cost.CAPABILITY),
+    /**
+     * Platform is Windows.
+     */
+    WINDOWS(Cost.CAPABILITY),
+    /**
+     * Platform is macOS, Linux or Windows.
+     */
+    PC(Cost.CAPABILITY),
+    /**
+     * Platform is iOS.
+     */
+    IOS(Cost.CAPABILITY),
+    /**
+     * Platform is Android.
+     */
+    ANDROID(Cost.CAPABILITY),
+    /**
+     * Platform is iOS or Android.
+     */
+    MOBILE(Cost.CAPABILITY),
+    /**
+     * Server runs on the local machine.
+     */
+    LOCAL(Cost.NETWORK),
+    /**
+     * Server runs on another machine.
+     */
+    REMOTE(Cost.CAPABILITY),
+    /**
+     * Server runs in a local Docker container.
+     */
+    DOCKER(Cost.PROCESS),
+    /**
+     * Session drives a browser.
+     */
+    BROWSER(Cost.CAPABILITY),
+    /**
+     * Session drives a native application, and a hybrid application is in its {@code NATIVE_APP} context.
+     */
+    NATIVE(Cost.NETWORK),
+    /**
+     * Browser is Chrome.
+     */
+    CHROME(Cost.CAPABILITY),
+    /**
+     * Browser is Safari.
+     */
+    SAFARI(Cost.CAPABILITY),
+    /**
+     * Browser is Edge.
+     */
+    EDGE(Cost.CAPABILITY),
+    /**
+     * Browser is Firefox.
+     */
+    FIREFOX(Cost.CAPABILITY),
+    /**
+     * Browser is Opera.
+     */
+    OPERA(Cost.CAPABILITY),
+    /**
+     * Browser is Internet Explorer.
+     */
+    IE(Cost.CAPABILITY),
+    /**
+     * Browser on a PC platform.
+     */
+    PC_BROWSER(Cost.CAPABILITY),
+    /**
+     * Native application on a PC platform.
+     */
+    PC_NATIVE(Cost.NETWORK),
+    /**
+     * Native application on macOS.
+     */
+    MACOS_NATIVE(Cost.NETWORK),
+    /**
+     * Native application on Windows.
+     */
+    WINDOWS_NATIVE(Cost.NETWORK),
+    /**
+     * Server is started locally by a driver service or Appium.
+     */
+    LOCAL_SERVER(Cost.NETWORK),
+    /**
+     * Server runs on another machine, e.g. Selenium Grid.
+     */
+    REMOTE_SERVER(Cost.NETWORK),
+    /**
+     * Browser on iOS.
+     */
+    IOS_BROWSER(Cost.CAPABILITY),
+    /**
+     * Native application on iOS.
+     */
+    IOS_NATIVE(Cost.NETWORK),
+    /**
+     * Simulator of iOS.
+     */
+    IOS_VIRTUAL(Cost.PROCESS),
+    /**
+     * Browser on Android.
+     */
+    ANDROID_BROWSER(Cost.CAPABILITY),
+    /**
+     * Native application on Android.
+     */
+    ANDROID_NATIVE(Cost.NETWORK),
+    /**
+     * Emulator of Android.
+     */
+    ANDROID_VIRTUAL(Cost.PROCESS),
+    /**
+     * Browser on iOS or Android.
+     */
+    MOBILE_BROWSER(Cost.CAPABILITY),
+    /**
+     * Native application on iOS or Android.
+     */
+    MOBILE_NATIVE(Cost.NETWORK),
+    /**
+     * Simulator or emulator of iOS or Android.
+     */
+    MOBILE_VIRTUAL(Cost.PROCESS),
+    /**
+     * Server is LambdaTest.
+     */
+    LAMBDATEST(Cost.CAPABILITY),
+    /**
+     * Server is BrowserStack.
+     */
+    BROWSERSTACK(Cost.CAPABILITY),
+    /**
+     * Server is SauceLabs.
+     */
+    SAUCELABS(Cost.CAPABILITY),
+    /**
+     * Server is TestingBot.
+     */
+    TESTINGBOT(Cost.CAPABILITY);
+
+    /**
+     * Bits of checks which depend on the current context of a hybrid application.
+     */
+    static final long CONTEXTUAL = mask(NATIVE, PC_NATIVE, MACOS_NATIVE, WINDOWS_NATIVE, IOS_NATIVE, ANDROID_NATIVE, MOBILE_NATIVE);
+    private final long bit = 1L << ordinal();
+    private final Cost cost;
+
+    Check(Cost cost) {
+        this.cost = cost;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Get the cost class of evaluating this check, includes checks it depends on.
+     *
+     * @return The {@link Cost}.
+     */
+    public Cost cost() {
+        return cost;
+    }
+
+    /**
+     * Get the bit of this verdict in the bitset.
+     *
+     * @return The bit mask.
+     */
+    long bit() {
+        return bit;
+    }
+
+    /**
+     * Check whether this verdict depends on the current context, e.g. {@code NATIVE_APP} or {@code WEBVIEW_1}.
+     *
+     * @return true if it's invalidated when the context is switched.
+     */
+    boolean contextual() {
+        return (CONTEXTUAL & bit) != 0;
+    }
+
+    private static long mask(Check... checks) {
+        long mask = 0;
+        for (Check check : checks) {
+            mask |= check.bit;
+        }
+        return mask;
+    }
+
+    //===============================================================================//
+
+    /**
+     * Cost class of a check, {@link Plan} evaluates cheaper checks first.
+     */
+    public enum Cost {
+        /**
+         * Reads capabilities or the command executor of the session.
+         */
+        CAPABILITY,
+        /**
+         * Resolves the server host, reads local network interfaces, or sends a command to the session,
+         * e.g. the current context of an app.
+         */
+        NETWORK,
+        /**
+         * Runs an external process or talks to a daemon, e.g. {@code docker}, {@code adb} or {@code simctl}.
+         */
+        PROCESS
+    }
+}
@@ -3,6 +3,8 @@ package com.github.ngoanh2n.wdc;
 import com.github.ngoanh2n.RuntimeError;
 import org.openqa.selenium.WebDriver;
 
+import java.util.List;
+
 /**
  * Runtime exception for {@link WebDriverChecker}.<br><br>
  *
@@ -114,4 +116,29 @@ public class CheckerException extends RuntimeError {
             super("The passed WebDriver is null");
         }
     }
+
+    /**
+     * Runtime exception when the running Selenium version doesn't have an internal field
+     * which {@link WebDriverChecker} depends on.
+     */
+    public static final class UnsupportedSelenium extends CheckerException {
+        /**
+         * Construct a new {@link UnsupportedSelenium} with the specified detail message.
+         *
+         * @param type  The class which was expected to hold the field.
+         * @param field The name of the field.
+         */
+        public UnsupportedSelenium(Class<?> type, String field) {
+            super("Unsupported Selenium version: " + type.getName() + " has no field " + field);
+        }
+
+        /**
+         * Construct a new {@link UnsupportedSelenium} with the specified detail message.
+         *
+         * @param fields The missing fields, e.g. {@code org.openqa.selenium.remote.CommandInfo.url}.
+         */
+        public UnsupportedSelenium(List<String> fields) {
+            super("Unsupported Selenium version: missing fields " + String.join(", ", fields));
+        }
+    }
 }
@@ -1,18 +1,14 @@
 package com.github.ngoanh2n.wdc;
 
+import com.github.ngoanh2n.Property;
 import com.github.ngoanh2n.RuntimeError;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.remote.CommandExecutor;
-import org.openqa.selenium.remote.HttpCommandExecutor;
-import org.openqa.selenium.remote.TracedCommandExecutor;
-import org.openqa.selenium.remote.service.DriverCommandExecutor;
-
-import java.net.InetAddress;
-import java.net.NetworkInterface;
-import java.net.URL;
-import java.util.Arrays;
-import java.util.LinkedList;
-import java.util.List;
+import org.openqa.selenium.remote.*;
+import org.openqa.selenium.remote.http.HttpMethod;
+
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -29,7 +25,107 @@ import java.util.regex.Pattern;
  * @since 2020
  */
 class CheckerType {
+    /*
+     * Checkers are stateless, so one instance of each is shared by all calls and threads.
+     */
+    static final WebDriverChecker ALIVE = new Alive(false);
+    static final WebDriverChecker ALIVE_DIRECTED = new Alive(true);
+    static final WebDriverChecker MACOS = new MacOS();
+    static final WebDriverChecker LINUX = new Linux();
+    static final WebDriverChecker WINDOWS = new Windows();
+    static final WebDriverChecker PC = new PC();
+    static final WebDriverChecker IOS = new IOS();
+    static final WebDriverChecker ANDROID = new Android();
+    static final WebDriverChecker MOBILE = new Mobile();
+    static final WebDriverChecker LOCAL = new Local();
+    static final WebDriverChecker REMOTE = new Remote();
+    static final WebDriverChecker DOCKER = new Docker();
+    static final WebDriverChecker BROWSER = new Browser();
+    static final WebDriverChecker NATIVE = new Native();
+    static final WebDriverChecker CHROME = new Chrome();
+    static final WebDriverChecker SAFARI = new Safari();
+    static final WebDriverChecker EDGE = new Edge();
+    static final WebDriverChecker FIREFOX = new Firefox();
+    static final WebDriverChecker OPERA = new Opera();
+    static final WebDriverChecker IE = new IE();
+    static final WebDriverChecker PC_BROWSER = new PCBrowser();
+    static final WebDriverChecker PC_NATIVE = new PCNative();
+    static final WebDriverChecker MACOS_NATIVE = new MacOSNative();
+    static final WebDriverChecker WINDOWS_NATIVE = new WindowsNative();
+    static final WebDriverChecker LOCAL_SERVER = new LocalServer();
+    static final WebDriverChecker REMOTE_SERVER = new RemoteServer();
+    static final WebDriverChecker IOS_BROWSER = new IOSBrowser();
+    static final WebDriverChecker IOS_NATIVE = new IOSNative();
+    static final WebDriverChecker IOS_VIRTUAL = new IOSVirtual();
+    static final WebDriverChecker ANDROID_BROWSER = new AndroidBrowser();
+    static final WebDriverChecker ANDROID_NATIVE = new AndroidNative();
+    static final WebDriverChecker ANDROID_VIRTUAL = new AndroidVirtual();
+    static final WebDriverChecker MOBILE_BROWSER = new MobileBrowser();
+    static final WebDriverChecker MOBILE_NATIVE = new MobileNative();
+    static final WebDriverChecker MOBILE_VIRTUAL = new MobileVirtual();
+    static final WebDriverChecker LAMBDATEST = new LambdaTest();
+    static final WebDriverChecker BROWSERSTACK = new BrowserStack();
+    static final WebDriverChecker SAUCELABS = new SauceLabs();
+    static final WebDriverChecker TESTINGBOT = new TestingBot();
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Get the shared checker which evaluates a verdict.
+     *
+     * @param verdict The {@link Check}.
+     * @return A {@link WebDriverChecker} implementation.
+     */
+    static WebDriverChecker of(Check verdict) {
+        return switch (verdict) {
+            case MACOS -> MACOS;
+            case LINUX -> LINUX;
+            case WINDOWS -> WINDOWS;
+            case PC -> PC;
+            case IOS -> IOS;
+            case ANDROID -> ANDROID;
+            case MOBILE -> MOBILE;
+            case LOCAL -> LOCAL;
+            case REMOTE -> REMOTE;
+            case DOCKER -> DOCKER;
+            case BROWSER -> BROWSER;
+            case NATIVE -> NATIVE;
+            case CHROME -> CHROME;
+            case SAFARI -> SAFARI;
+            case EDGE -> EDGE;
+            case FIREFOX -> FIREFOX;
+            case OPERA -> OPERA;
+            case IE -> IE;
+            case PC_BROWSER -> PC_BROWSER;
+            case PC_NATIVE -> PC_NATIVE;
+            case MACOS_NATIVE -> MACOS_NATIVE;
+            case WINDOWS_NATIVE -> WINDOWS_NATIVE;
+            case LOCAL_SERVER -> LOCAL_SERVER;
+            case REMOTE_SERVER -> REMOTE_SERVER;
+            case IOS_BROWSER -> IOS_BROWSER;
+            case IOS_NATIVE -> IOS_NATIVE;
+            case IOS_VIRTUAL -> IOS_VIRTUAL;
+            case ANDROID_BROWSER -> ANDROID_BROWSER;
+            case ANDROID_NATIVE -> ANDROID_NATIVE;
+            case ANDROID_VIRTUAL -> ANDROID_VIRTUAL;
+            case MOBILE_BROWSER -> MOBILE_BROWSER;
+            case MOBILE_NATIVE -> MOBILE_NATIVE;
+            case MOBILE_VIRTUAL -> MOBILE_VIRTUAL;
+            case LAMBDATEST -> LAMBDATEST;
+            case BROWSERSTACK -> BROWSERSTACK;
+            case SAUCELABS -> SAUCELABS;
+            case TESTINGBOT -> TESTINGBOT;
+        };
+    }
+
+    //-------------------------------------------------------------------------------//
+
     static class MacOS extends WebDriverChecker {
+        @Override
+        Check verdict() {
+            return Check.MACOS;
+        }
+
         @Override
         protected boolean check(WebDriver... driver) {
             return getPlatformName(driver).equals("mac");
@@ -37,6 +133,11 @@ class CheckerType {
     }
 
     static class Linux extends WebDriverChecker {
+        @Override
+        Check verdict() {
+            return Check.LINUX;
+        }
+
         @Override
         protected boolean check(WebDriver... driver) {
             return getPlatformName(driver).equals("linux");
@@ -44,6 +145,11 @@ class CheckerType {
     }
 
     static class Windows extends WebDriverChecker {
+        @Override
+        Check verdict() {
+            return Check.WINDOWS;
+        }
+
         @Override
         protected boolean check(WebDriver... driver) {
             return getPlatformName(driver).equals("windows");
@@ -51,13 +157,23 @@ class CheckerType {
     }
 
     static class PC extends WebDriverChecker {
+        @Override
+        Check verdict() {
+            return Check.PC;
+        }
+
         @Override
         protected boolean check(WebDriver... driver) {
-            return is(new MacOS(), driver) || is(new Linux(), driver) || is(new Windows(), driver);
+            return is(MACOS, driver) || is(LINUX, driver) || is(WINDOWS, driver);
         }
     }
 
     static class IOS extends WebDriverChecker {
+        @Override
+        Check verdict() {
+            return Check.IOS;
+        }
+
         @Override
         protected boolean check(WebDriver... driver) {
             return getPlatformName(driver).equals("ios");
@@ -65,6 +181,11 @@ class CheckerType {
     }
 
     static class Android extends WebDriverChecker {
+        @Override
+        Check verdict() {
+            return Check.ANDROID;
+        }
+
         @Override
         protected boolean check(WebDriver... driver) {
             return getPlatformName(driver).equals("android");
@@ -72,9 +193,14 @@ class CheckerType {
     }
 
     static class Mobile extends WebDriverChecker {
+        @Override
+        Check verdict() {
+            return Check.MOBILE;
+        }
+
         @Override
         protected boolean check(WebDriver... driver) {
-            return is(new IOS(), driver) || is(new Android(), driver);
+            return is(IOS, driver) || is(ANDROID, driver);
         }
     }
 
@@ -82,19 +208,34 @@ class CheckerType {
 
     static class Alive extends WebDriverChecker {
         private final boolean directed;
+        private final boolean deep;
+        private final long ttl;
 
-        Alive() {
-            this(false);
+        Alive(boolean directed) {
+            this(directed,
+                    Property.ofBoolean("wdc.alive.deep", false).getValue(),
+                    TimeUnit.MILLISECONDS.toNanos(Property.ofInteger("wdc.alive.ttl", 1000).getValue()));
         }
 
-        Alive(boolean directed) {
+        Alive(boolean directed, boolean deep, long ttl) {
             this.directed = directed;
+            this.deep = deep;
+            this.ttl = ttl;
         }
 
         @Override
         protected boolean check(WebDriver... driver) {
             try {
-                return getDriver(driver).getSessionId() != null;
+                RemoteWebDriver wd = getDriver(driver);
+                if (wd.getSessionId() == null) {
+                    Session.evict(wd);
+                    return false;
+                }
+                if (deep && !Session.of(wd).alive(ttl, () -> ping(wd))) {
+                    Session.evict(wd);
+                    return false;
+                }
+                return true;
             } catch (RuntimeError exception) {
                 if (directed) {
                     return false;
@@ -102,73 +243,92 @@ class CheckerType {
                 throw exception;
             }
         }
-    }
-
-    static class Local extends WebDriverChecker {
-        private String host;
 
-        Local() {
+        boolean ping(RemoteWebDriver driver) {
+            try {
+                Command command = new Command(driver.getSessionId(), "wdcGetTimeouts");
+                CommandInfo info = new CommandInfo("/session/:sessionId/timeouts", HttpMethod.GET);
+                Response response = runCommand(command, info, driver);
+                return response.getStatus() == null || response.getStatus() == ErrorCodes.SUCCESS;
+            } catch (RuntimeException ignored) {
+                return false;
+            }
         }
+    }
 
-        Local(String host) {
-            this.host = host;
+    static class Local extends WebDriverChecker {
+        @Override
+        Check verdict() {
+            return Check.LOCAL;
         }
 
         @Override
         protected boolean check(WebDriver... driver) {
-            host = host == null ? getServerURL(driver).getHost() : host;
-            try {
-                InetAddress address = InetAddress.getByName(host);
-                if (address.isAnyLocalAddress() || address.isLoopbackAddress()) {
-                    return true;
-                }
-                return NetworkInterface.getByInetAddress(address) != null;
-            } catch (Exception ignored) {
-                return false;
-            }
+            return LocalNetwork.isLocal(getServerURL(driver).getHost());
         }
     }
 
     static class Remote extends WebDriverChecker {
+        @Override
+        Check verdict() {
+            return Check.REMOTE;
+        }
+
         @Override
         protected boolean check(WebDriver... driver) {
-            CommandExecutor ce = getDriver(driver).getCommandExecutor();
-            return !(ce instanceof DriverCommandExecutor);
+            return snapshot(driver).executor() != Snapshot.Executor.SERVICE;
         }
     }
 
     static class Docker extends WebDriverChecker {
+        private static final Probe<Map<Integer, String>> detected = Probe.of(() -> Detected.probe.bindings());
+        private final Probe<Map<Integer, String>> bindings;
+
+        Docker() {
+            this.bindings = detected;
+        }
+
+        /**
+         * Construct a {@link Docker} checker which reads port bindings from the given probe instead of the detected one.
+         *
+         * @param probe The {@link DockerProbe}, e.g. {@link DockerCli} to go through the Shell only.
+         */
+        Docker(DockerProbe probe) {
+            this.bindings = Probe.of(probe::bindings);
+        }
+
+        @Override
+        Check verdict() {
+            return Check.DOCKER;
+        }
+
         @Override
         protected boolean check(WebDriver... driver) {
-            if (isRunning() && is(new Local(), driver)) {
-                String regex = String.format("^(map.*)(0.0.0.0 %s)(.*)$", getServerURL(driver).getPort());
-                String[] outputs = runShell("docker inspect -f {{.NetworkSettings.Ports}} $(docker ps -aq)");
-
-                for (String output : outputs) {
-                    if (output.trim().matches(regex)) {
-                        Pattern pattern = Pattern.compile(regex);
-                        Matcher matcher = pattern.matcher(output.trim());
-
-                        if (matcher.matches()) {
-                            String host = matcher.group(2).split("\\s+")[0];
-                            return is(new Local(host), driver);
-                        }
-                    }
-                }
+            if (is(LOCAL, driver) && isRunning()) {
+                String host = bindings.get().get(getServerURL(driver).getPort());
+                return host != null && LocalNetwork.isLocal(host);
             }
             return false;
         }
 
         protected boolean isRunning() {
-            if (Arrays.toString(runShell("docker -v")).contains("Docker version")) {
-                String[] outputs = runShell("docker inspect -f {{.State.Status}} $(docker ps -aq)");
-                return outputs[0].matches("(exited|running)");
-            }
-            return false;
+            return !bindings.get().isEmpty();
+        }
+
+        /*
+         * Holds the detected probe, so DOCKER_HOST is read at the first probe instead of the initialization of CheckerType.
+         */
+        private static final class Detected {
+            private static final DockerProbe probe = DockerProbe.detect();
         }
     }
 
     static class Browser extends WebDriverChecker {
+        @Override
+        Check verdict() {
+            return Check.BROWSER;
+        }
+
         @Override
         protected boolean check(WebDriver... driver) {
             return !getBrowserName(driver).isEmpty();
@@ -176,24 +336,68 @@ class CheckerType {
     }
 
     static class Native extends WebDriverChecker {
+        private static final long ttl = TimeUnit.MILLISECONDS.toNanos(Property.ofInteger("wdc.context.ttl", 1000).getValue());
+
+        @Override
+        Check verdict() {
+            return Check.NATIVE;
+        }
+
         @Override
         protected boolean check(WebDriver... driver) {
-            if (!getApp(driver).isEmpty()) {
+            if (!isApp(driver)) {
+                return false;
+            }
+
+            RemoteWebDriver wd = getDriver(driver);
+            String context = Session.of(wd).context(ttl, () -> queryContext(wd));
+            return context == null || context.equals(Session.NATIVE_APP);
+        }
+
+        private boolean isApp(WebDriver... driver) {
+            return isApp(getApp(driver), getAppPackage(driver), is(ANDROID, driver));
+        }
+
+        /*
+         * Shared with Offline, which reads the same capabilities without a session.
+         */
+        static boolean isApp(String app, String appPackage, boolean android) {
+            if (!app.isEmpty()) {
                 return true;
             }
-            if (!getAppPackage(driver).isEmpty()) {
-                if (is(new Android(), driver)) {
-                    return !getAppPackage(driver).equals("com.android.chrome");
+            if (!appPackage.isEmpty()) {
+                if (android) {
+                    return !appPackage.equals("com.android.chrome");
                 }
                 return true;
             }
             return false;
         }
+
+        private String queryContext(RemoteWebDriver driver) {
+            try {
+                Command command = new Command(driver.getSessionId(), "wdcGetContext");
+                CommandInfo info = new CommandInfo("/session/:sessionId/context", HttpMethod.GET);
+                Response response = runCommand(command, info, driver);
+                if (response.getStatus() != null && response.getStatus() != ErrorCodes.SUCCESS) {
+                    return null;
+                }
+                return response.getValue() instanceof String ? (String) response.getValue() : null;
+            } catch (RuntimeException ignored) {
+                // The session has no contexts, e.g. it isn't driven by Appium
+                return null;
+            }
+        }
     }
 
     //-------------------------------------------------------------------------------//
 
     static class Chrome extends WebDriverChecker {
+        @Override
+        Check verdict() {
+            return Check.CHROME;
+        }
+
         @Override
         protected boolean check(WebDriver... driver) {
             return getBrowserName(driver).equals("chrome");
@@ -201,6 +405,11 @@ class CheckerType {
     }
 
     static class Safari extends WebDriverChecker {
+        @Override
+        Check verdict() {
+            return Check.SAFARI;
+        }
+
         @Override
         protected boolean check(WebDriver... driver) {
             return getBrowserName(driver).equals("safari");
@@ -208,6 +417,11 @@ class CheckerType {
     }
 
     static class Firefox extends WebDriverChecker {
+        @Override
+        Check verdict() {
+            return Check.FIREFOX;
+        }
+
         @Override
         protected boolean check(WebDriver... driver) {
             return getBrowserName(driver).equals("firefox");
@@ -215,14 +429,23 @@ class CheckerType {
     }
 
     static class Edge extends WebDriverChecker {
+        @Override
+        Check verdict() {
+            return Check.EDGE;
+        }
+
         @Override
         protected boolean check(WebDriver... driver) {
-            List<String> names = Arrays.asList("msedge", "microsoftedge");
-            return names.contains(getBrowserName(driver));
+            return getBrowserName(driver).equals("msedge");
         }
     }
 
     static class Opera extends WebDriverChecker {
+        @Override
+        Check verdict() {
+            return Check.OPERA;
+        }
+
         @Override
         protected boolean check(WebDriver... driver) {
             return getBrowserName(driver).equals("opera");
@@ -230,6 +453,11 @@ class CheckerType {
     }
 
     static class IE extends WebDriverChecker {
+        @Override
+        Check verdict() {
+            return Check.IE;
+        }
+
         @Override
         protected boolean check(WebDriver... driver) {
             return getBrowserName(driver).equals("internetexplorer");
@@ -238,59 +466,80 @@ class CheckerType {
 
     //-------------------------------------------------------------------------------//
 
-    static class PCBrowser extends WebDriverChecker {
+    static class PCBrowser extends Conjunction {
+        PCBrowser() {
+            super(Check.PC, Check.BROWSER);
+        }
+
         @Override
-        protected boolean check(WebDriver... driver) {
-            return is(new PC(), driver) && is(new Browser(), driver);
+        Check verdict() {
+            return Check.PC_BROWSER;
         }
     }
 
-    static class PCNative extends WebDriverChecker {
+    static class PCNative extends Conjunction {
+        PCNative() {
+            super(Check.PC, Check.NATIVE);
+        }
+
         @Override
-        protected boolean check(WebDriver... driver) {
-            return is(new PC(), driver) && is(new Native(), driver);
+        Check verdict() {
+            return Check.PC_NATIVE;
         }
     }
 
     //-------------------------------------------------------------------------------//
 
-    static class MacOSNative extends WebDriverChecker {
+    static class MacOSNative extends Conjunction {
+        MacOSNative() {
+            super(Check.MACOS, Check.NATIVE);
+        }
+
         @Override
-        protected boolean check(WebDriver... driver) {
-            return is(new MacOS(), driver) && is(new Native(), driver);
+        Check verdict() {
+            return Check.MACOS_NATIVE;
         }
     }
 
-    static class WindowsNative extends WebDriverChecker {
+    static class WindowsNative extends Conjunction {
+        WindowsNative() {
+            super(Check.WINDOWS, Check.NATIVE);
+        }
+
         @Override
-        protected boolean check(WebDriver... driver) {
-            return is(new Windows(), driver) && is(new Native(), driver);
+        Check verdict() {
+            return Check.WINDOWS_NATIVE;
         }
     }
 
     //-------------------------------------------------------------------------------//
 
     static class LocalServer extends WebDriverChecker {
+        @Override
+        Check verdict() {
+            return Check.LOCAL_SERVER;
+        }
+
         @Override
         protected boolean check(WebDriver... driver) {
-            if (is(new Local(), driver)) {
-                CommandExecutor ce = getDriver(driver).getCommandExecutor();
-                if (ce instanceof DriverCommandExecutor) {
-                    return true;
-                }
-                String aceName = "io.appium.java_client.remote.AppiumCommandExecutor";
-                return ce.getClass().getName().equals(aceName);
+            Snapshot.Executor executor = snapshot(driver).executor();
+            if (executor == Snapshot.Executor.SERVICE || executor == Snapshot.Executor.APPIUM) {
+                return is(LOCAL, driver);
             }
             return false;
         }
     }
 
     static class RemoteServer extends WebDriverChecker {
+        @Override
+        Check verdict() {
+            return Check.REMOTE_SERVER;
+        }
+
         @Override
         protected boolean check(WebDriver... driver) {
-            if (!is(new Local(), driver)) {
-                CommandExecutor ce = getDriver(driver).getCommandExecutor();
-                return ce instanceof HttpCommandExecutor || ce instanceof TracedCommandExecutor;
+            if (snapshot(driver).executor() != Snapshot.Executor.OTHER) {
+                return !is(LOCAL, driver);
             }
             return false;
         }
@@ -298,70 +547,129 @@ class CheckerType {
 
     //-------------------------------------------------------------------------------//
 
-    static class IOSBrowser extends WebDriverChecker {
+    static class IOSBrowser extends Conjunction {
+        IOSBrowser() {
+            super(Check.IOS, Check.BROWSER);
+        }
+
         @Override
-        protected boolean check(WebDriver... driver) {
-            return is(new IOS(), driver) && is(new Browser(), driver);
+        Check verdict() {
+            return Check.IOS_BROWSER;
         }
     }
 
-    static class IOSNative extends WebDriverChecker {
+    static class IOSNative extends Conjunction {
+        IOSNative() {
+            super(Check.IOS, Check.NATIVE);
+        }
+
         @Override
-        protected boolean check(WebDriver... driver) {
-            return is(new IOS(), driver) && is(new Native(), driver);
+        Check verdict() {
+            return Check.IOS_NATIVE;
         }
     }
 
-    static class IOSVirtual extends WebDriverChecker {
+    static class IOSVirtual extends Conjunction {
+        IOSVirtual() {
+            super(Check.IOS, Check.MOBILE_VIRTUAL);
+        }
+
         @Override
-        protected boolean check(WebDriver... driver) {
-            return is(new IOS(), driver) && is(new MobileVirtual(), driver);
+        Check verdict() {
+            return Check.IOS_VIRTUAL;
         }
     }
 
     //-------------------------------------------------------------------------------//
 
-    static class AndroidBrowser extends WebDriverChecker {
+    static class AndroidBrowser extends Conjunction {
+        AndroidBrowser() {
+            super(Check.ANDROID, Check.BROWSER);
+        }
+
         @Override
-        protected boolean check(WebDriver... driver) {
-            return is(new Android(), driver) && is(new Browser(), driver);
+        Check verdict() {
+            return Check.ANDROID_BROWSER;
         }
     }
 
-    static class AndroidNative extends WebDriverChecker {
+    static class AndroidNative extends Conjunction {
+        AndroidNative() {
+            super(Check.ANDROID, Check.NATIVE);
+        }
+
         @Override
-        protected boolean check(WebDriver... driver) {
-            return is(new Android(), driver) && is(new Native(), driver);
+        Check verdict() {
+            return Check.ANDROID_NATIVE;
         }
     }
 
-    static class AndroidVirtual extends WebDriverChecker {
+    static class AndroidVirtual extends Conjunction {
+        AndroidVirtual() {
+            super(Check.ANDROID, Check.MOBILE_VIRTUAL);
+        }
+
         @Override
-        protected boolean check(WebDriver... driver) {
-            return is(new Android(), driver) && is(new MobileVirtual(), driver);
+        Check verdict() {
+            return Check.ANDROID_VIRTUAL;
         }
     }
 
     //-------------------------------------------------------------------------------//
 
-    static class MobileBrowser extends WebDriverChecker {
+    static class MobileBrowser extends Conjunction {
+        MobileBrowser() {
+            super(Check.MOBILE, Check.BROWSER);
+        }
+
         @Override
-        protected boolean check(WebDriver... driver) {
-            return is(new Mobile(), driver) && is(new Browser(), driver);
+        Check verdict() {
+            return Check.MOBILE_BROWSER;
         }
     }
 
-    static class MobileNative extends WebDriverChecker {
+    static class MobileNative extends Conjunction {
+        MobileNative() {
+            super(Check.MOBILE, Check.NATIVE);
+        }
+
         @Override
-        protected boolean check(WebDriver... driver) {
-            return is(new Mobile(), driver) && is(new Native(), driver);
+        Check verdict() {
+            return Check.MOBILE_NATIVE;
         }
     }
 
     static class MobileVirtual extends WebDriverChecker {
+        private static final Pattern emulator = Pattern.compile("^(emulator-\\d{4})(.*)$");
+        private static final Pattern simulator = Pattern.compile("^(.*) \\((.*)\\) \\((Booted)\\)$");
+        private static final Probe<String[]> detected = Probe.of(MobileVirtual::probeAndroid);
+        private static final Probe<String[]> ios = Probe.of(() -> probe("xcrun simctl list", simulator, 2));
+        private final Probe<String[]> android;
+        private final boolean server;
+
+        MobileVirtual() {
+            this(true);
+        }
+
+        /**
+         * Construct a {@link MobileVirtual} checker which lists Android emulators by {@code adb devices} only,
+         * the ADB server isn't asked directly even when it's running.
+         *
+         * @param server Whether the ADB server is asked directly, {@code false} to go through the Shell only.
+         */
+        MobileVirtual(boolean server) {
+            this.android = server ? detected : Probe.of(() -> probe("adb devices", emulator, 1));
+            this.server = server;
+        }
+
+        @Override
+        Check verdict() {
+            return Check.MOBILE_VIRTUAL;
+        }
+
         @Override
         protected boolean check(WebDriver... driver) {
-            if (is(new Mobile(), driver)) {
+            if (is(MOBILE, driver)) {
                 String deviceId = getDeviceId(driver);
                 String[] connectedDeviceIds = getConnectedVDIds(driver);
                 return Arrays.asList(connectedDeviceIds).contains(deviceId);
@@ -370,71 +678,129 @@ class CheckerType {
         }
 
         protected String[] getConnectedVDIds(WebDriver... driver) {
-            String command = is(new Android(), driver)
-                    ? "adb devices"
-                    : "xcrun simctl list";
-            String regex = is(new Android(), driver)
-                    ? "^(emulator-\\d{4})(.*)$"
-                    : "^(.*) \\((.*)\\) \\((Booted)\\)$";
+            if (is(ANDROID, driver)) {
+                if (server && LocalAdb.client.track() && LocalAdb.client.isTracking()) {
+                    return LocalAdb.client.emulators().toArray(new String[]{});
+                }
+                return android.get();
+            }
+            return ios.get();
+        }
 
+        private static String[] probeAndroid() {
+            try {
+                return LocalAdb.client.emulators().toArray(new String[]{});
+            } catch (UncheckedIOException ignored) {
+                return probe("adb devices", emulator, 1);
+            }
+        }
+
+        private static String[] probe(String command, Pattern pattern, int position) {
             String[] outputs = runShell(command);
             LinkedList<String> deviceIds = new LinkedList<>();
 
             for (String output : outputs) {
-                if (output.trim().matches(regex)) {
-                    Pattern pattern = Pattern.compile(regex);
-                    Matcher matcher = pattern.matcher(output.trim());
-
-                    if (matcher.matches()) {
-                        int position = is(new Android(), driver) ? 1 : 2;
-                        String deviceId = matcher.group(position);
-                        deviceIds.add(deviceId);
-                    }
+                Matcher matcher = pattern.matcher(output.trim());
+                if (matcher.matches()) {
+                    String deviceId = matcher.group(position);
+                    deviceIds.add(deviceId);
                 }
             }
             return deviceIds.toArray(new String[]{});
         }
+
+        /*
+         * Holds the client, so ANDROID_ADB_SERVER_PORT is read at the first Android probe instead of the initialization of CheckerType.
+         */
+        private static final class LocalAdb {
+            private static final Adb client = Adb.local();
+        }
     }
 
     //-------------------------------------------------------------------------------//
 
     static class LambdaTest extends Cloud {
+        LambdaTest() {
+            super(CloudVendor.LAMBDATEST);
+        }
+
         @Override
-        String regex() {
-            return "^(hub.)(lambdatest.com)$";
+        Check verdict() {
+            return Check.LAMBDATEST;
         }
     }
 
     static class BrowserStack extends Cloud {
+        BrowserStack() {
+            super(CloudVendor.BROWSERSTACK);
+        }
+
         @Override
-        String regex() {
-            return "^(hub.)(browserstack.com)$";
+        Check verdict() {
+            return Check.BROWSERSTACK;
         }
     }
 
     static class SauceLabs extends Cloud {
+        SauceLabs() {
+            super(CloudVendor.SAUCELABS);
+        }
+
         @Override
-        String regex() {
-            return "^(ondemand.)(.*)(.saucelabs.com)$";
+        Check verdict() {
+            return Check.SAUCELABS;
         }
     }
 
     static class TestingBot extends Cloud {
+        TestingBot() {
+            super(CloudVendor.TESTINGBOT);
+        }
+
+        @Override
+        Check verdict() {
+            return Check.TESTINGBOT;
+        }
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    abstract static class Conjunction extends WebDriverChecker {
+        private final Plan plan;
+
+        /*
+         * Sub-checks are evaluated in the order of Plan, cheaper ones first.
+         */
+        Conjunction(Check... checks) {
+            this.plan = Plan.of(EnumSet.copyOf(Arrays.asList(checks)), EnumSet.noneOf(Check.class));
+        }
+
         @Override
-        String regex() {
-            return "^(hub.)(testingbot.com)$";
+        protected boolean check(WebDriver... driver) {
+            return plan.test(getDriver(driver));
+        }
+
+        /**
+         * Get the checks which all must be true.
+         *
+         * @return The {@link Plan.Step}s.
+         */
+        List<Plan.Step> steps() {
+            return plan.steps();
         }
     }
 
-    static abstract class Cloud extends WebDriverChecker {
+    static class Cloud extends WebDriverChecker {
+        private final CloudVendor vendor;
 
-        abstract String regex();
+        Cloud(CloudVendor vendor) {
+            this.vendor = vendor;
+        }
 
         @Override
         protected boolean check(WebDriver... driver) {
-            if (is(new Remote(), driver)) {
-                URL serverURL = getServerURL(driver);
-                return serverURL.getHost().matches(regex());
+            if (vendor != null && is(REMOTE, driver)) {
+                return CloudVendor.of(getServerURL(driver)) == vendor;
             }
             return false;
         }
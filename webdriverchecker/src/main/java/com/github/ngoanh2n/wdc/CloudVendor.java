@@ -0,0 +1,188 @@
+package com.github.ngoanh2n.wdc;
+
+import org.openqa.selenium.WebDriver;
+
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cloud vendor which hosts the remote end of {@link WebDriver}, is recognized by host suffixes of the server URL.
+ * <ul>
+ *     <li>{@code CloudVendor.of(url)} finds the vendor by the longest registered suffix of the host</li>
+ *     <li>{@code CloudVendor.register("MyGrid", "grid.example.com")} adds a vendor, e.g. a private grid</li>
+ *     <li>{@code WebDriverChecker.isCloud(vendor, driver)} checks a registered vendor</li>
+ * </ul>
+ * Results are cached per host, so a check costs one map lookup after the first call.<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/webdriverchecker">ngoanh2n/webdriverchecker</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/webdriverchecker">com.github.ngoanh2n:webdriverchecker</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2020
+ */
+public final class CloudVendor {
+    private static final int capacity = 256;
+    private static final Map<String, CloudVendor> index = new ConcurrentHashMap<>();
+    private static final Map<String, Optional<CloudVendor>> hosts = new ConcurrentHashMap<>();
+    private static volatile int generation;
+
+    /**
+     * LambdaTest, {@code *.lambdatest.com}.
+     */
+    public static final CloudVendor LAMBDATEST = register("LambdaTest", "lambdatest.com");
+    /**
+     * BrowserStack, {@code *.browserstack.com}.
+     */
+    public static final CloudVendor BROWSERSTACK = register("BrowserStack", "browserstack.com");
+    /**
+     * Sauce Labs, {@code *.saucelabs.com}.
+     */
+    public static final CloudVendor SAUCELABS = register("SauceLabs", "saucelabs.com");
+    /**
+     * TestingBot, {@code *.testingbot.com}.
+     */
+    public static final CloudVendor TESTINGBOT = register("TestingBot", "testingbot.com");
+
+    private final String name;
+    private final List<String> suffixes;
+
+    private CloudVendor(String name, List<String> suffixes) {
+        this.name = name;
+        this.suffixes = suffixes;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Register a cloud vendor.
+     *
+     * @param name     The name of the vendor.
+     * @param suffixes Host suffixes of the vendor, e.g. {@code grid.example.com} matches
+     *                 {@code grid.example.com} and {@code hub.grid.example.com}.
+     * @return The registered {@link CloudVendor}.
+     * @throws CheckerException if a suffix is registered by another vendor.
+     */
+    public static synchronized CloudVendor register(String name, String... suffixes) {
+        if (name == null || name.isBlank() || suffixes.length == 0) {
+            throw new CheckerException("Cloud vendor requires a name and at least one host suffix");
+        }
+
+        List<String> normalized = new ArrayList<>();
+        for (String suffix : suffixes) {
+            String value = normalize(suffix);
+            if (value.isEmpty()) {
+                throw new CheckerException("Host suffix of " + name + " is empty");
+            }
+            CloudVendor owner = index.get(value);
+            if (owner != null) {
+                throw new CheckerException("Host suffix " + value + " is registered by " + owner.name);
+            }
+            normalized.add(value);
+        }
+
+        CloudVendor vendor = new CloudVendor(name, List.copyOf(normalized));
+        for (String suffix : vendor.suffixes) {
+            index.put(suffix, vendor);
+        }
+        generation++;
+        hosts.clear();
+        return vendor;
+    }
+
+    /**
+     * Find the cloud vendor of a server URL.
+     *
+     * @param url The server URL.
+     * @return The {@link CloudVendor}, or {@code null} if the host isn't registered.
+     */
+    public static CloudVendor of(URL url) {
+        return url == null ? null : of(url.getHost());
+    }
+
+    /**
+     * Find the cloud vendor of a host.
+     *
+     * @param host The host of the server URL.
+     * @return The {@link CloudVendor}, or {@code null} if the host isn't registered.
+     */
+    public static CloudVendor of(String host) {
+        if (host == null || host.isEmpty()) {
+            return null;
+        }
+
+        Optional<CloudVendor> vendor = hosts.get(host);
+        if (vendor == null) {
+            if (hosts.size() >= capacity) {
+                hosts.clear();
+            }
+            int current = generation;
+            vendor = Optional.ofNullable(lookup(normalize(host)));
+            hosts.put(host, vendor);
+
+            if (current != generation) {
+                hosts.remove(host);
+            }
+        }
+        return vendor.orElse(null);
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Get the name of the vendor.
+     *
+     * @return The name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get host suffixes of the vendor.
+     *
+     * @return Lowercase host suffixes.
+     */
+    public List<String> getSuffixes() {
+        return suffixes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private static CloudVendor lookup(String host) {
+        String candidate = host;
+        while (true) {
+            CloudVendor vendor = index.get(candidate);
+            if (vendor != null) {
+                return vendor;
+            }
+            int dot = candidate.indexOf('.');
+            if (dot < 0) {
+                return null;
+            }
+            candidate = candidate.substring(dot + 1);
+        }
+    }
+
+    private static String normalize(String host) {
+        String value = host == null ? "" : host.trim().toLowerCase(Locale.ROOT);
+        while (value.startsWith(".")) {
+            value = value.substring(1);
+        }
+        while (value.endsWith(".")) {
+            value = value.substring(0, value.length() - 1);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.ngoanh2n.wdc;
+
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandCodec;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.CommandInfo;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.http.HttpRequest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Define and dispatch custom Selenium commands for {@link WebDriverChecker}.
+ * <ul>
+ *     <li>A command is defined on a {@link CommandCodec} once, and again only if its URL or method changes</li>
+ *     <li>Commands are dispatched on daemon threads, so a batch costs about one round-trip instead of one per command</li>
+ * </ul>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/webdriverchecker">ngoanh2n/webdriverchecker</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/webdriverchecker">com.github.ngoanh2n:webdriverchecker</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2020
+ */
+final class Commands {
+    private static final Map<CommandCodec<?>, Map<String, String>> defined = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final ExecutorService dispatcher = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "wdc-command");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Commands() { /**/ }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Define a command on a codec if it isn't defined with the same URL and method yet.
+     *
+     * @param codec The {@link CommandCodec} of the session.
+     * @param name  The name of the command.
+     * @param info  The {@link CommandInfo} to provide URL and method.
+     */
+    static void define(CommandCodec<HttpRequest> codec, String name, CommandInfo info) {
+        String spec = Accessors.method(info) + " " + Accessors.url(info);
+        Map<String, String> names = defined.computeIfAbsent(codec, key -> new HashMap<>());
+
+        synchronized (names) {
+            if (!spec.equals(names.get(name))) {
+                codec.defineCommand(name, Accessors.method(info), Accessors.url(info));
+                names.put(name, spec);
+            }
+        }
+    }
+
+    /**
+     * Execute a command asynchronously.
+     *
+     * @param ce      The {@link CommandExecutor} of the session.
+     * @param command The {@link Command} to execute.
+     * @return A {@link CompletableFuture} of the {@link Response}.
+     */
+    static CompletableFuture<Response> dispatch(CommandExecutor ce, Command command) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = Metrics.start();
+            Events.Command event = new Events.Command();
+            event.begin();
+            try {
+                Response response = ce.execute(command);
+                Metrics.COMMAND.record(start);
+                return response;
+            } catch (IOException e) {
+                Metrics.COMMAND.fail(start);
+                event.failed = true;
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                Metrics.COMMAND.fail(start);
+                event.failed = true;
+                throw e;
+            } finally {
+                commit(event, command);
+            }
+        }, dispatcher);
+    }
+
+    /**
+     * Commit a JFR event of a command round-trip, if it's enabled.
+     *
+     * @param event   The {@link Events.Command} which began before the command was sent.
+     * @param command The {@link Command}.
+     */
+    static void commit(Events.Command event, Command command) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.command = command.getName();
+            event.sessionId = String.valueOf(command.getSessionId());
+            event.commit();
+        }
+    }
+
+    /**
+     * Wait for a dispatched command.
+     *
+     * @param future The {@link CompletableFuture} of {@link #dispatch(CommandExecutor, Command)}.
+     * @return The {@link Response}.
+     */
+    static Response await(CompletableFuture<Response> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw new RuntimeException(cause.getCause());
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.ngoanh2n.wdc;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@link DockerProbe} which runs the Docker CLI through the Shell.<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/webdriverchecker">ngoanh2n/webdriverchecker</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/webdriverchecker">com.github.ngoanh2n:webdriverchecker</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2020
+ */
+final class DockerCli implements DockerProbe {
+    private static final Pattern binding = Pattern.compile("\\{(\\S+) (\\d+)}");
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Integer, String> bindings() {
+        Map<Integer, String> hosts = new HashMap<>();
+        String[] outputs = WebDriverChecker.runShell("docker inspect -f {{.NetworkSettings.Ports}} $(docker ps -q)");
+
+        for (String output : outputs) {
+            Matcher matcher = binding.matcher(output.trim());
+            while (matcher.find()) {
+                hosts.putIfAbsent(Integer.parseInt(matcher.group(2)), matcher.group(1));
+            }
+        }
+        return Collections.unmodifiableMap(hosts);
+    }
+}
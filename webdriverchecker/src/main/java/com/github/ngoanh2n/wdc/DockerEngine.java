@@ -0,0 +1,233 @@
+package com.github.ngoanh2n.wdc;
+
+import com.github.ngoanh2n.Property;
+import org.openqa.selenium.json.Json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * {@link DockerProbe} which talks to Docker Engine API directly over its socket (Unix domain or TCP).<br>
+ * Port bindings of all running containers are read by one {@code GET /containers/json} request.
+ * Connecting, sending and reading together are bounded by {@code wdc.docker.timeout} milliseconds.
+ * It falls back to another probe when the socket is absent, refuses the connection or answers with an error.
+ * When the timeout is exceeded, no container is reported, since another probe would wait for the same daemon.<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/webdriverchecker">ngoanh2n/webdriverchecker</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/webdriverchecker">com.github.ngoanh2n:webdriverchecker</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2020
+ */
+final class DockerEngine implements DockerProbe {
+    private final SocketAddress address;
+    private final DockerProbe fallback;
+    private final long timeout;
+
+    /**
+     * Construct a new {@link DockerEngine}.
+     *
+     * @param address  The address of Docker Engine API socket.
+     * @param fallback The {@link DockerProbe} is used when the socket isn't reachable.
+     */
+    DockerEngine(SocketAddress address, DockerProbe fallback) {
+        this(address, fallback, Property.ofInteger("wdc.docker.timeout", 5000).getValue());
+    }
+
+    /**
+     * Construct a new {@link DockerEngine}.
+     *
+     * @param address  The address of Docker Engine API socket.
+     * @param fallback The {@link DockerProbe} is used when the socket isn't reachable.
+     * @param timeout  How long a request may take, including connecting, in milliseconds.
+     */
+    DockerEngine(SocketAddress address, DockerProbe fallback, long timeout) {
+        this.address = address;
+        this.fallback = fallback;
+        this.timeout = timeout;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Integer, String> bindings() {
+        try {
+            return parse(get("/containers/json"));
+        } catch (UncheckedIOException e) {
+            if (e.getCause() instanceof SocketTimeoutException) {
+                // The daemon hangs, the Docker CLI would hang on it too
+                return Map.of();
+            }
+            return fallback.bindings();
+        } catch (RuntimeException e) {
+            return fallback.bindings();
+        }
+    }
+
+    /**
+     * Get the address of Docker Engine API socket.
+     *
+     * @return The {@link SocketAddress}.
+     */
+    SocketAddress address() {
+        return address;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Send a GET request to Docker Engine API.
+     *
+     * @param path The path of the endpoint.
+     * @return Body of the response.
+     * @throws UncheckedIOException with a {@link SocketTimeoutException} if the exchange exceeds the timeout.
+     */
+    String get(String path) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        try (SocketChannel channel = open(address); Selector selector = Selector.open()) {
+            channel.configureBlocking(false);
+            SelectionKey key = channel.register(selector, 0);
+
+            if (!channel.connect(address)) {
+                key.interestOps(SelectionKey.OP_CONNECT);
+                while (!channel.finishConnect()) {
+                    await(selector, deadline);
+                }
+            }
+
+            String request = "GET " + path + " HTTP/1.0\r\nHost: docker\r\nAccept: application/json\r\n\r\n";
+            ByteBuffer out = ByteBuffer.wrap(request.getBytes(UTF_8));
+            key.interestOps(SelectionKey.OP_WRITE);
+            while (out.hasRemaining()) {
+                if (channel.write(out) == 0) {
+                    await(selector, deadline);
+                }
+            }
+
+            ByteArrayOutputStream response = new ByteArrayOutputStream();
+            ByteBuffer in = ByteBuffer.allocate(8192);
+            key.interestOps(SelectionKey.OP_READ);
+            for (int read = channel.read(in); read != -1; read = channel.read(in)) {
+                if (read == 0) {
+                    await(selector, deadline);
+                } else {
+                    response.write(in.array(), 0, in.position());
+                    in.clear();
+                }
+            }
+            return body(response.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private static SocketChannel open(SocketAddress address) throws IOException {
+        if (address instanceof UnixDomainSocketAddress) {
+            return SocketChannel.open(StandardProtocolFamily.UNIX);
+        }
+        return SocketChannel.open();
+    }
+
+    /*
+     * Every step waits on the selector until the deadline, so an unroutable host, a full backlog or a hung daemon
+     * can't hold the check past the timeout, and no timer outlives the request.
+     */
+    private void await(Selector selector, long deadline) throws IOException {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            throw new SocketTimeoutException("Docker Engine API doesn't respond in " + timeout + "ms");
+        }
+        selector.select(Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining)));
+        selector.selectedKeys().clear();
+    }
+
+    private static Map<Integer, String> parse(String body) {
+        Map<Integer, String> hosts = new HashMap<>();
+        List<Map<String, Object>> containers = new Json().toType(body, Json.LIST_OF_MAPS_TYPE);
+
+        for (Map<String, Object> container : containers) {
+            Object ports = container.get("Ports");
+            if (!(ports instanceof List)) {
+                continue;
+            }
+            for (Object port : (List<?>) ports) {
+                Map<?, ?> binding = (Map<?, ?>) port;
+                Object publicPort = binding.get("PublicPort");
+                Object ip = binding.get("IP");
+
+                if (publicPort instanceof Number && ip instanceof String) {
+                    hosts.putIfAbsent(((Number) publicPort).intValue(), (String) ip);
+                }
+            }
+        }
+        return Collections.unmodifiableMap(hosts);
+    }
+
+    private static String body(byte[] response) throws IOException {
+        int separator = indexOf(response, 0, "\r\n\r\n");
+        if (separator < 0) {
+            throw new IOException("Malformed response from Docker Engine API");
+        }
+
+        String[] headers = new String(response, 0, separator, UTF_8).split("\r\n");
+        if (!headers[0].matches("^HTTP/1\\.[01] 200 .*$")) {
+            throw new IOException("Unexpected response from Docker Engine API: " + headers[0]);
+        }
+
+        int start = separator + 4;
+        for (String header : headers) {
+            if (header.toLowerCase().matches("^transfer-encoding:\\s*chunked$")) {
+                return dechunk(response, start);
+            }
+        }
+        return new String(response, start, response.length - start, UTF_8);
+    }
+
+    private static String dechunk(byte[] response, int position) {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+        while (position < response.length) {
+            int lineEnd = indexOf(response, position, "\r\n");
+            String line = new String(response, position, lineEnd - position, UTF_8);
+            int size = Integer.parseInt(line.split(";")[0].trim(), 16);
+
+            if (size == 0) {
+                break;
+            }
+            content.write(response, lineEnd + 2, size);
+            position = lineEnd + 2 + size + 2;
+        }
+        return content.toString(UTF_8);
+    }
+
+    private static int indexOf(byte[] bytes, int from, String target) {
+        byte[] pattern = target.getBytes(UTF_8);
+        for (int i = from; i <= bytes.length - pattern.length; i++) {
+            if (Arrays.equals(bytes, i, i + pattern.length, pattern, 0, pattern.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
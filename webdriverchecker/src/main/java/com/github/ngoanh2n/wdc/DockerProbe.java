@@ -0,0 +1,83 @@
+package com.github.ngoanh2n.wdc;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.UnixDomainSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Probe the local Docker for port bindings of containers, is used by {@link CheckerType.Docker}.
+ * <ul>
+ *     <li>{@link DockerEngine} talks to Docker Engine API over the socket of {@code DOCKER_HOST}
+ *     or {@code /var/run/docker.sock}</li>
+ *     <li>{@link DockerCli} runs {@code docker inspect} when the Engine API isn't reachable</li>
+ * </ul>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/webdriverchecker">ngoanh2n/webdriverchecker</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/webdriverchecker">com.github.ngoanh2n:webdriverchecker</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2020
+ */
+interface DockerProbe {
+    /**
+     * Get port bindings of containers.
+     *
+     * @return Published port on the host to IP address it's bound to.
+     * Empty if Docker isn't running or no container publishes a port.
+     */
+    Map<Integer, String> bindings();
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Detect the probe for the current host, it never fails.
+     *
+     * @return {@link DockerEngine} if the Engine API socket is known, otherwise {@link DockerCli}.
+     */
+    static DockerProbe detect() {
+        return detect(System.getenv("DOCKER_HOST"), "1".equals(System.getenv("DOCKER_TLS_VERIFY")));
+    }
+
+    /**
+     * Detect the probe for a Docker host.
+     * A {@code tcp://} host without a port uses the port of the Docker CLI: {@code 2376} with TLS, otherwise {@code 2375}.
+     *
+     * @param host The value of {@code DOCKER_HOST}, e.g. {@code unix:///var/run/docker.sock} or {@code tcp://host:2375}.
+     * @param tls  Whether the host requires TLS, the Engine API over TLS is left to {@link DockerCli}.
+     * @return {@link DockerEngine} if the Engine API socket is known, otherwise {@link DockerCli},
+     * also when the host can't be parsed.
+     */
+    static DockerProbe detect(String host, boolean tls) {
+        DockerProbe cli = new DockerCli();
+        try {
+            if (host == null || host.isEmpty()) {
+                Path socket = Path.of("/var/run/docker.sock");
+                if (Files.exists(socket)) {
+                    return new DockerEngine(UnixDomainSocketAddress.of(socket), cli);
+                }
+                return cli;
+            }
+            if (host.startsWith("unix://")) {
+                Path socket = Path.of(host.substring("unix://".length()));
+                return new DockerEngine(UnixDomainSocketAddress.of(socket), cli);
+            }
+            if (host.startsWith("tcp://")) {
+                URI uri = URI.create(host);
+                int port = uri.getPort() == -1 ? (tls ? 2376 : 2375) : uri.getPort();
+                if (uri.getHost() == null || tls) {
+                    return cli;
+                }
+                return new DockerEngine(new InetSocketAddress(uri.getHost(), port), cli);
+            }
+        } catch (RuntimeException ignored) {
+            // DOCKER_HOST is malformed, the Docker CLI reports it
+        }
+        return cli;
+    }
+}
@@ -0,0 +1,459 @@
+package com.github.ngoanh2n.wdc;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.StringJoiner;
+
+/**
+ * Immutable profile of {@link WebDriver} characteristics and environment.<br>
+ * It holds every verdict of {@link WebDriverChecker} for a session, computed in one pass.
+ * <pre>{@code
+ * DriverProfile profile = WebDriverChecker.profile(driver);
+ * boolean result = profile.isChrome();
+ * }</pre>
+ * A profile from {@code WebDriverChecker.of(capabilities)} is built without a session,
+ * verdicts which need the server or the machine are unknown and read as false, see {@link #isKnown(Check)}.<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/webdriverchecker">ngoanh2n/webdriverchecker</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/webdriverchecker">com.github.ngoanh2n:webdriverchecker</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2020
+ */
+public final class DriverProfile {
+    private final String platformName;
+    private final String browserName;
+    private final String browserVersion;
+    private final long verdicts;
+    private final long known;
+
+    DriverProfile(Snapshot snapshot, long verdicts) {
+        this(snapshot, verdicts, -1L);
+    }
+
+    DriverProfile(Snapshot snapshot, long verdicts, long known) {
+        this.platformName = snapshot.platform();
+        this.browserName = snapshot.browserName();
+        this.browserVersion = snapshot.browserVersion();
+        this.verdicts = verdicts & known;
+        this.known = known;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Get platform name of the session.
+     *
+     * @return Platform name.
+     */
+    public String getPlatformName() {
+        return platformName;
+    }
+
+    /**
+     * Get browser name of the session.
+     *
+     * @return Browser name, or empty if it's not a browser.
+     */
+    public String getBrowserName() {
+        return browserName;
+    }
+
+    /**
+     * Get browser version of the session.
+     *
+     * @return Browser version, or empty if it's not reported.
+     */
+    public String getBrowserVersion() {
+        return browserVersion;
+    }
+
+    /**
+     * Whether the session is on macOS.
+     *
+     * @return true if it's macOS.
+     */
+    public boolean isMacOS() {
+        return has(Check.MACOS);
+    }
+
+    /**
+     * Whether the session is on Linux.
+     *
+     * @return true if it's Linux.
+     */
+    public boolean isLinux() {
+        return has(Check.LINUX);
+    }
+
+    /**
+     * Whether the session is on Windows.
+     *
+     * @return true if it's Windows.
+     */
+    public boolean isWindows() {
+        return has(Check.WINDOWS);
+    }
+
+    /**
+     * Whether the session is on a PC platform.
+     *
+     * @return true if it's PC platform.
+     */
+    public boolean isPC() {
+        return has(Check.PC);
+    }
+
+    /**
+     * Whether the session is on iOS.
+     *
+     * @return true if it's iOS.
+     */
+    public boolean isIOS() {
+        return has(Check.IOS);
+    }
+
+    /**
+     * Whether the session is on Android.
+     *
+     * @return true if it's Android.
+     */
+    public boolean isAndroid() {
+        return has(Check.ANDROID);
+    }
+
+    /**
+     * Whether the session is on iOS or Android.
+     *
+     * @return true if it's iOS or Android.
+     */
+    public boolean isMobile() {
+        return has(Check.MOBILE);
+    }
+
+    /**
+     * Whether the session is running locally.
+     *
+     * @return true if it's running locally.
+     */
+    public boolean isLocal() {
+        return has(Check.LOCAL);
+    }
+
+    /**
+     * Whether the session is running remotely.
+     *
+     * @return true if it's running remotely.
+     */
+    public boolean isRemote() {
+        return has(Check.REMOTE);
+    }
+
+    /**
+     * Whether the session is running in local Docker.
+     *
+     * @return true if it's running in local Docker.
+     */
+    public boolean isDocker() {
+        return has(Check.DOCKER);
+    }
+
+    /**
+     * Whether the session is for a browser.
+     *
+     * @return true if it's a browser.
+     */
+    public boolean isBrowser() {
+        return has(Check.BROWSER);
+    }
+
+    /**
+     * Whether the session is for a native app.
+     *
+     * @return true if it's a native app.
+     */
+    public boolean isNative() {
+        return has(Check.NATIVE);
+    }
+
+    /**
+     * Whether the session is for Chrome browser.
+     *
+     * @return true if it's Chrome browser.
+     */
+    public boolean isChrome() {
+        return has(Check.CHROME);
+    }
+
+    /**
+     * Whether the session is for Safari browser.
+     *
+     * @return true if it's Safari browser.
+     */
+    public boolean isSafari() {
+        return has(Check.SAFARI);
+    }
+
+    /**
+     * Whether the session is for Edge browser.
+     *
+     * @return true if it's Edge browser.
+     */
+    public boolean isEdge() {
+        return has(Check.EDGE);
+    }
+
+    /**
+     * Whether the session is for Firefox browser.
+     *
+     * @return true if it's Firefox browser.
+     */
+    public boolean isFirefox() {
+        return has(Check.FIREFOX);
+    }
+
+    /**
+     * Whether the session is for Opera browser.
+     *
+     * @return true if it's Opera browser.
+     */
+    public boolean isOpera() {
+        return has(Check.OPERA);
+    }
+
+    /**
+     * Whether the session is for IE browser.
+     *
+     * @return true if it's IE browser.
+     */
+    public boolean isIE() {
+        return has(Check.IE);
+    }
+
+    /**
+     * Whether the session is for a browser on macOS, Linux or Windows.
+     *
+     * @return true if it's a browser on macOS, Linux or Windows.
+     */
+    public boolean isPCBrowser() {
+        return has(Check.PC_BROWSER);
+    }
+
+    /**
+     * Whether the session is for a native app on macOS or Windows.
+     *
+     * @return true if it's a native app on macOS or Windows.
+     */
+    public boolean isPCNative() {
+        return has(Check.PC_NATIVE);
+    }
+
+    /**
+     * Whether the session is for a native app on macOS.
+     *
+     * @return true if it's a native app on macOS.
+     */
+    public boolean isMacOSNative() {
+        return has(Check.MACOS_NATIVE);
+    }
+
+    /**
+     * Whether the session is for a native app on Windows.
+     *
+     * @return true if it's a native app on Windows.
+     */
+    public boolean isWindowsNative() {
+        return has(Check.WINDOWS_NATIVE);
+    }
+
+    /**
+     * Whether the session is connecting to a local server.
+     *
+     * @return true if it's connecting to a local server.
+     */
+    public boolean isLocalServer() {
+        return has(Check.LOCAL_SERVER);
+    }
+
+    /**
+     * Whether the session is connecting to a remote server.
+     *
+     * @return true if it's connecting to a remote server.
+     */
+    public boolean isRemoteServer() {
+        return has(Check.REMOTE_SERVER);
+    }
+
+    /**
+     * Whether the session is for a browser on iOS.
+     *
+     * @return true if it's a browser on iOS.
+     */
+    public boolean isIOSBrowser() {
+        return has(Check.IOS_BROWSER);
+    }
+
+    /**
+     * Whether the session is for a native app on iOS.
+     *
+     * @return true if it's a native app on iOS.
+     */
+    public boolean isIOSNative() {
+        return has(Check.IOS_NATIVE);
+    }
+
+    /**
+     * Whether the session is running on iOS simulator.
+     *
+     * @return true if it's running on iOS virtual device.
+     */
+    public boolean isIOSVirtual() {
+        return has(Check.IOS_VIRTUAL);
+    }
+
+    /**
+     * Whether the session is for a browser on Android.
+     *
+     * @return true if it's a browser on Android.
+     */
+    public boolean isAndroidBrowser() {
+        return has(Check.ANDROID_BROWSER);
+    }
+
+    /**
+     * Whether the session is for a native app on Android.
+     *
+     * @return true if it's a native app on Android.
+     */
+    public boolean isAndroidNative() {
+        return has(Check.ANDROID_NATIVE);
+    }
+
+    /**
+     * Whether the session is running on Android emulator.
+     *
+     * @return true if it's running on Android virtual device.
+     */
+    public boolean isAndroidVirtual() {
+        return has(Check.ANDROID_VIRTUAL);
+    }
+
+    /**
+     * Whether the session is for a browser on iOS or Android.
+     *
+     * @return true if it's a browser on iOS or Android.
+     */
+    public boolean isMobileBrowser() {
+        return has(Check.MOBILE_BROWSER);
+    }
+
+    /**
+     * Whether the session is for a native app on iOS or Android.
+     *
+     * @return true if it's a native app on iOS or Android.
+     */
+    public boolean isMobileNative() {
+        return has(Check.MOBILE_NATIVE);
+    }
+
+    /**
+     * Whether the session is running on iOS simulator or Android emulator.
+     *
+     * @return true if it's running on mobile virtual device.
+     */
+    public boolean isMobileVirtual() {
+        return has(Check.MOBILE_VIRTUAL);
+    }
+
+    /**
+     * Whether the session is running on LambdaTest.
+     *
+     * @return true if it's running on LambdaTest.
+     */
+    public boolean isLambdaTest() {
+        return has(Check.LAMBDATEST);
+    }
+
+    /**
+     * Whether the session is running on BrowserStack.
+     *
+     * @return true if it's running on BrowserStack.
+     */
+    public boolean isBrowserStack() {
+        return has(Check.BROWSERSTACK);
+    }
+
+    /**
+     * Whether the session is running on SauceLabs.
+     *
+     * @return true if it's running on SauceLabs.
+     */
+    public boolean isSauceLabs() {
+        return has(Check.SAUCELABS);
+    }
+
+    /**
+     * Whether the session is running on TestingBot.
+     *
+     * @return true if it's running on TestingBot.
+     */
+    public boolean isTestingBot() {
+        return has(Check.TESTINGBOT);
+    }
+
+    /**
+     * Whether the session passes a check.
+     *
+     * @param check The {@link Check}.
+     * @return true if it passes.
+     */
+    public boolean is(Check check) {
+        return has(check);
+    }
+
+    /**
+     * Whether a verdict of the profile is known.
+     * It's always true for a profile of a session.
+     *
+     * @param check The {@link Check}.
+     * @return true if the verdict is evaluated, false if it can't be without a session.
+     */
+    public boolean isKnown(Check check) {
+        return (known & check.bit()) != 0;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "DriverProfile{", "}");
+        joiner.add("platformName=" + platformName);
+        joiner.add("browserName=" + browserName);
+        joiner.add("browserVersion=" + browserVersion);
+
+        StringJoiner unknown = new StringJoiner(", ", "unknown=[", "]");
+        for (Check verdict : Check.values()) {
+            if (has(verdict)) {
+                joiner.add(verdict.name());
+            } else if (!isKnown(verdict)) {
+                unknown.add(verdict.name());
+            }
+        }
+        if (known != -1L) {
+            joiner.add(unknown.toString());
+        }
+        return joiner.toString();
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private boolean has(Check verdict) {
+        return (verdicts & verdict.bit()) != 0;
+    }
+}
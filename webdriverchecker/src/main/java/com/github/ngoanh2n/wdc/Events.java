@@ -0,0 +1,104 @@
+package com.github.ngoanh2n.wdc;
+
+import jdk.jfr.*;
+
+/**
+ * Java Flight Recorder events of {@link WebDriverChecker}, so time spent in checks can be attributed
+ * next to the rest of the JVM's activity.<br>
+ * All events are disabled by default, a disabled event costs a field read of JFR.
+ * Enable them in a {@code .jfc} setting file of {@code -XX:StartFlightRecording},
+ * or by {@code recording.enable("com.github.ngoanh2n.wdc.Check")} of {@link jdk.jfr.Recording}.<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/webdriverchecker">ngoanh2n/webdriverchecker</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/webdriverchecker">com.github.ngoanh2n:webdriverchecker</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2020
+ */
+final class Events {
+    private Events() { /**/ }
+
+    //===============================================================================//
+
+    /**
+     * A call of {@link WebDriverChecker#is(WebDriverChecker, org.openqa.selenium.WebDriver...)}.
+     */
+    @Enabled(false)
+    @StackTrace(false)
+    @Name("com.github.ngoanh2n.wdc.Check")
+    @Label("WebDriverChecker Check")
+    @Category("WebDriverChecker")
+    static final class Check extends Event {
+        @Label("Checker")
+        String checker;
+
+        @Label("Session ID")
+        String sessionId;
+
+        @Label("Cached")
+        @Description("The verdict is served by the per-session cache")
+        boolean cached;
+
+        @Label("Result")
+        boolean result;
+    }
+
+    /**
+     * A Shell command.
+     */
+    @Enabled(false)
+    @StackTrace(false)
+    @Name("com.github.ngoanh2n.wdc.Shell")
+    @Label("WebDriverChecker Shell")
+    @Category("WebDriverChecker")
+    static final class Shell extends Event {
+        @Label("Command")
+        String command;
+
+        @Label("Exit Code")
+        int exitCode;
+
+        @Label("Failed")
+        @Description("The command can't start or exceeds its deadline")
+        boolean failed;
+    }
+
+    /**
+     * A Selenium command round-trip.
+     */
+    @Enabled(false)
+    @StackTrace(false)
+    @Name("com.github.ngoanh2n.wdc.Command")
+    @Label("WebDriverChecker Command")
+    @Category("WebDriverChecker")
+    static final class Command extends Event {
+        @Label("Command")
+        String command;
+
+        @Label("Session ID")
+        String sessionId;
+
+        @Label("Failed")
+        boolean failed;
+    }
+
+    /**
+     * A lookup of {@link WebDriverProvider}s for a check which doesn't pass a driver.
+     */
+    @Enabled(false)
+    @StackTrace(false)
+    @Name("com.github.ngoanh2n.wdc.Provider")
+    @Label("WebDriverChecker Provider")
+    @Category("WebDriverChecker")
+    static final class Provider extends Event {
+        @Label("Provider")
+        Class<?> provider;
+
+        @Label("Found")
+        @Description("A provider returns a driver")
+        boolean found;
+    }
+}
@@ -0,0 +1,109 @@
+package com.github.ngoanh2n.wdc;
+
+import com.github.ngoanh2n.Property;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Run a task for many {@link WebDriver} sessions concurrently, is used by {@link WebDriverChecker#checkAll}
+ * and {@link WebDriverChecker#profileAll}.<br>
+ * A call runs at most {@code wdc.parallelism} tasks at a time, the default is {@code 16}.
+ * Workers of a call pull sessions from a shared cursor, so a slow session doesn't hold up a whole batch.<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/webdriverchecker">ngoanh2n/webdriverchecker</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/webdriverchecker">com.github.ngoanh2n:webdriverchecker</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2020
+ */
+final class FanOut {
+    /**
+     * Maximum number of sessions are checked at a time by one call, is set by system property {@code wdc.parallelism}.
+     */
+    static final int PARALLELISM = Math.max(1, Property.ofInteger("wdc.parallelism", 16).getValue());
+    private static final ExecutorService workers = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "wdc-fanout");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private FanOut() { /**/ }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Run a task for each session concurrently.
+     *
+     * @param drivers     The {@link WebDriver} sessions.
+     * @param parallelism Maximum number of tasks are running at a time.
+     * @param task        The task to run for a session.
+     * @param <T>         The type of the result.
+     * @return Results keyed by {@link SessionId}, in the order of the drivers.
+     * @throws RuntimeException the first exception thrown by a task, after all tasks have finished.
+     */
+    static <T> Map<SessionId, T> run(Collection<? extends WebDriver> drivers, int parallelism, Function<RemoteWebDriver, T> task) {
+        List<RemoteWebDriver> sessions = new ArrayList<>();
+        for (WebDriver driver : drivers) {
+            sessions.add(WebDriverChecker.getDriver(driver));
+        }
+
+        int size = sessions.size();
+        SessionId[] ids = new SessionId[size];
+        Object[] results = new Object[size];
+        Throwable[] errors = new Throwable[size];
+        AtomicInteger cursor = new AtomicInteger();
+
+        Runnable worker = () -> {
+            for (int i = cursor.getAndIncrement(); i < size; i = cursor.getAndIncrement()) {
+                try {
+                    RemoteWebDriver session = sessions.get(i);
+                    ids[i] = session.getSessionId();
+                    results[i] = task.apply(session);
+                } catch (Throwable t) {
+                    errors[i] = t;
+                }
+            }
+        };
+
+        int count = Math.min(Math.max(1, parallelism), size);
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[count];
+        for (int i = 0; i < count; i++) {
+            futures[i] = CompletableFuture.runAsync(worker, workers);
+        }
+        CompletableFuture.allOf(futures).join();
+
+        Map<SessionId, T> map = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            if (errors[i] instanceof RuntimeException) {
+                throw (RuntimeException) errors[i];
+            }
+            if (errors[i] instanceof Error) {
+                throw (Error) errors[i];
+            }
+            if (errors[i] != null) {
+                throw new CompletionException(errors[i]);
+            }
+            map.put(ids[i], cast(results[i]));
+        }
+        return map;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object value) {
+        return (T) value;
+    }
+}
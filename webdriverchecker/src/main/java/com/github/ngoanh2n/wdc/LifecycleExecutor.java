@@ -0,0 +1,239 @@
+package com.github.ngoanh2n.wdc;
+
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Opt-in {@link CommandExecutor} decorator which observes the lifecycle of sessions,
+ * so caches of {@link WebDriverChecker} are kept coherent without polling.
+ * <pre>{@code
+ * CommandExecutor executor = LifecycleExecutor.wrap(new HttpCommandExecutor(url));
+ * WebDriver driver = new RemoteWebDriver(executor, capabilities);
+ * }</pre>
+ * <ul>
+ *     <li>{@code newSession}: the session state is pre-filled from returned capabilities</li>
+ *     <li>{@code quit}: the session state is evicted</li>
+ *     <li>Context switch, e.g. Appium {@code switchToContext}: the current context is recorded,
+ *     and memoized verdicts which depend on it are invalidated</li>
+ *     <li>App lifecycle, e.g. Appium {@code activateApp} or {@code mobile: startActivity}:
+ *     the current context becomes unknown, and memoized verdicts which depend on it are invalidated</li>
+ * </ul>
+ * No other command needs to invalidate a verdict. Capabilities of a session are fixed when it's created:
+ * neither W3C WebDriver nor Appium has a command which alters them, and {@link RemoteWebDriver#getCapabilities()}
+ * returns those of {@code newSession}. Only the current context, which isn't a capability, can change afterwards.
+ * Each of them is also published to {@link Listener}s, for caches built around {@link WebDriverChecker}.<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/webdriverchecker">ngoanh2n/webdriverchecker</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/webdriverchecker">com.github.ngoanh2n:webdriverchecker</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2020
+ */
+public final class LifecycleExecutor implements CommandExecutor {
+    private static final Set<String> contextCommands = Set.of("switchToContext", "setContext");
+    private static final String contextQuery = "getCurrentContextHandle";
+    private static final Set<String> appCommands = Set.of("activateApp", "terminateApp", "installApp", "removeApp",
+            "launchApp", "closeApp", "resetApp", "startActivity");
+    private static final Set<String> appScripts = Set.of("mobile: activateApp", "mobile: terminateApp",
+            "mobile: installApp", "mobile: removeApp", "mobile: launchApp", "mobile: closeApp", "mobile: resetApp",
+            "mobile: startActivity");
+    private static final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final CommandExecutor delegate;
+
+    private LifecycleExecutor(CommandExecutor delegate) {
+        this.delegate = delegate;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Wrap a {@link CommandExecutor}, e.g. {@link HttpCommandExecutor} or {@code DriverCommandExecutor}.
+     *
+     * @param delegate The {@link CommandExecutor} which sends commands.
+     * @return The {@link LifecycleExecutor}, or the delegate itself if it's already wrapped.
+     */
+    public static LifecycleExecutor wrap(CommandExecutor delegate) {
+        if (delegate == null) {
+            throw new CheckerException("CommandExecutor to wrap is null");
+        }
+        if (delegate instanceof LifecycleExecutor) {
+            return (LifecycleExecutor) delegate;
+        }
+        return new LifecycleExecutor(delegate);
+    }
+
+    /**
+     * Add a {@link Listener} of lifecycle events of all wrapped executors.
+     *
+     * @param listener The {@link Listener}.
+     */
+    public static void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove a {@link Listener}.
+     *
+     * @param listener The {@link Listener}.
+     */
+    public static void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Get the wrapped {@link CommandExecutor}.
+     *
+     * @return The delegate.
+     */
+    public CommandExecutor getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Response execute(Command command) throws IOException {
+        String name = command.getName();
+        if (DriverCommand.QUIT.equals(name)) {
+            try {
+                return delegate.execute(command);
+            } finally {
+                quit(command.getSessionId());
+            }
+        }
+
+        Response response = delegate.execute(command);
+        if (isSuccess(response)) {
+            if (DriverCommand.NEW_SESSION.equals(name)) {
+                created(response);
+            } else if (contextCommands.contains(name)) {
+                contextChanged(command.getSessionId(), command.getParameters().get("name"), true);
+            } else if (contextQuery.equals(name)) {
+                contextChanged(command.getSessionId(), response.getValue(), false);
+            } else if (isAppCommand(command)) {
+                contextLost(command.getSessionId());
+            }
+        }
+        return response;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    @SuppressWarnings("unchecked")
+    private void created(Response response) {
+        SessionId id = response.getSessionId() == null ? null : new SessionId(response.getSessionId());
+        if (id == null || !(response.getValue() instanceof Map)) {
+            return;
+        }
+
+        Map<String, Object> capabilities = (Map<String, Object>) response.getValue();
+        Session.prefill(id, Snapshot.of(new ImmutableCapabilities(capabilities), this));
+        publish(new Event(Type.CREATED, id, capabilities, null));
+    }
+
+    private void quit(SessionId id) {
+        if (id != null) {
+            Session.evict(id);
+            publish(new Event(Type.QUIT, id, Map.of(), null));
+        }
+    }
+
+    private void contextChanged(SessionId id, Object value, boolean switched) {
+        if (id != null) {
+            String context = value == null ? null : String.valueOf(value);
+            if (Session.contextChanged(id, context) || switched) {
+                publish(new Event(Type.CONTEXT_CHANGED, id, Map.of(), context));
+            }
+        }
+    }
+
+    private void contextLost(SessionId id) {
+        if (id != null && Session.contextLost(id)) {
+            publish(new Event(Type.CONTEXT_CHANGED, id, Map.of(), null));
+        }
+    }
+
+    private static boolean isAppCommand(Command command) {
+        String name = command.getName();
+        if (appCommands.contains(name)) {
+            return true;
+        }
+        if (DriverCommand.EXECUTE_SCRIPT.equals(name) || DriverCommand.EXECUTE_ASYNC_SCRIPT.equals(name)) {
+            Object script = command.getParameters().get("script");
+            return script != null && appScripts.contains(String.valueOf(script).trim());
+        }
+        return false;
+    }
+
+    private static boolean isSuccess(Response response) {
+        return response != null && (response.getStatus() == null || response.getStatus() == ErrorCodes.SUCCESS);
+    }
+
+    private static void publish(Event event) {
+        for (Listener listener : listeners) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException ignored) {
+                // A broken listener mustn't fail the command of the session
+            }
+        }
+    }
+
+    //===============================================================================//
+
+    /**
+     * Type of lifecycle event.
+     */
+    public enum Type {
+        /**
+         * A session is created by {@code newSession}.
+         */
+        CREATED,
+        /**
+         * A session is quit.
+         */
+        QUIT,
+        /**
+         * Context of a session is switched, e.g. between {@code NATIVE_APP} and {@code WEBVIEW},
+         * or becomes unknown after an app is started, activated or terminated.
+         */
+        CONTEXT_CHANGED
+    }
+
+    /**
+     * Lifecycle event of a session.
+     *
+     * @param type         The {@link Type}.
+     * @param sessionId    The {@link SessionId}.
+     * @param capabilities Capabilities returned by {@code newSession}, empty for other types.
+     * @param context      The new context of {@link Type#CONTEXT_CHANGED}, {@code null} if it's unknown or for other types.
+     */
+    public record Event(Type type, SessionId sessionId, Map<String, Object> capabilities, String context) {
+    }
+
+    /**
+     * Listener of lifecycle events, is called on the thread which sends the command to the {@link WebDriver} session.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * Handle a lifecycle event.
+         *
+         * @param event The {@link Event}.
+         */
+        void onEvent(Event event);
+    }
+}
@@ -0,0 +1,183 @@
+package com.github.ngoanh2n.wdc;
+
+import com.github.ngoanh2n.Property;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Decide whether a host is the local machine, is used by {@link CheckerType.Local} and {@link CheckerType.Docker}.
+ * <ul>
+ *     <li>Addresses of local network interfaces are indexed once, and refreshed every {@code wdc.local.refresh} milliseconds</li>
+ *     <li>Host names are resolved with a deadline of {@code wdc.dns.timeout} milliseconds</li>
+ *     <li>Resolved names are cached for {@code wdc.dns.ttl} milliseconds, failures for {@code wdc.dns.negative.ttl}</li>
+ * </ul>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/webdriverchecker">ngoanh2n/webdriverchecker</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/webdriverchecker">com.github.ngoanh2n:webdriverchecker</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2020
+ */
+final class LocalNetwork {
+    private static final Probe<Set<InetAddress>> interfaces = Probe.of(LocalNetwork::readInterfaces,
+            Duration.ofMillis(Property.ofInteger("wdc.local.refresh", 30000).getValue()));
+    private static final Resolver resolver = new Resolver(InetAddress::getAllByName,
+            Duration.ofMillis(Property.ofInteger("wdc.dns.ttl", 60000).getValue()),
+            Duration.ofMillis(Property.ofInteger("wdc.dns.negative.ttl", 10000).getValue()),
+            Duration.ofMillis(Property.ofInteger("wdc.dns.timeout", 2000).getValue()));
+
+    private LocalNetwork() { /**/ }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Check whether a host is the local machine.
+     *
+     * @param host The host name or IP address.
+     * @return true if it resolves to a wildcard, loopback or local interface address.
+     */
+    static boolean isLocal(String host) {
+        if (host == null || host.isEmpty()) {
+            return false;
+        }
+        for (InetAddress address : resolver.resolve(host)) {
+            if (address.isAnyLocalAddress() || address.isLoopbackAddress()) {
+                return true;
+            }
+            if (interfaces.get().contains(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private static Set<InetAddress> readInterfaces() {
+        Set<InetAddress> addresses = new HashSet<>();
+        try {
+            Enumeration<NetworkInterface> nis = NetworkInterface.getNetworkInterfaces();
+            if (nis != null) {
+                for (NetworkInterface ni : Collections.list(nis)) {
+                    addresses.addAll(Collections.list(ni.getInetAddresses()));
+                }
+            }
+        } catch (SocketException ignored) {
+            // No interface can be listed, only wildcard and loopback are local
+        }
+        return Collections.unmodifiableSet(addresses);
+    }
+
+    //===============================================================================//
+
+    /**
+     * Resolve host names with a deadline, and cache results.<br>
+     * Concurrent callers of the same host share one lookup.
+     */
+    static final class Resolver {
+        private static final int capacity = 1024;
+        private static final InetAddress[] none = new InetAddress[]{};
+        private static final ExecutorService lookups = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "wdc-dns");
+            thread.setDaemon(true);
+            return thread;
+        });
+        private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+        private final Lookup lookup;
+        private final long ttl;
+        private final long negativeTtl;
+        private final long timeout;
+
+        /**
+         * Construct a new {@link Resolver}.
+         *
+         * @param lookup      The {@link Lookup} which resolves a host.
+         * @param ttl         The time to live of a resolved host.
+         * @param negativeTtl The time to live of a failed or timed out lookup.
+         * @param timeout     The deadline of a lookup.
+         */
+        Resolver(Lookup lookup, Duration ttl, Duration negativeTtl, Duration timeout) {
+            this.lookup = lookup;
+            this.ttl = ttl.toNanos();
+            this.negativeTtl = negativeTtl.toNanos();
+            this.timeout = timeout.toMillis();
+        }
+
+        /**
+         * Resolve a host.
+         *
+         * @param host The host name or IP address.
+         * @return Addresses of the host, empty if it can't be resolved within the deadline.
+         */
+        InetAddress[] resolve(String host) {
+            Entry entry = cache.get(host);
+            if (entry != null && !entry.isExpired()) {
+                Metrics.DNS.hit();
+            } else {
+                Metrics.DNS.miss();
+                if (cache.size() >= capacity) {
+                    cache.values().removeIf(Entry::isExpired);
+                }
+                entry = cache.compute(host, (key, current) ->
+                        current == null || current.isExpired() ? new Entry(key) : current);
+            }
+            try {
+                return entry.future.join();
+            } catch (CompletionException | CancellationException e) {
+                return none;
+            }
+        }
+
+        //===============================================================================//
+
+        private final class Entry {
+            private final CompletableFuture<InetAddress[]> future;
+            private volatile boolean done;
+            private volatile long expiresAt;
+
+            private Entry(String host) {
+                future = CompletableFuture
+                        .supplyAsync(() -> {
+                            try {
+                                return lookup.resolve(host);
+                            } catch (IOException e) {
+                                throw new CompletionException(e);
+                            }
+                        }, lookups)
+                        .orTimeout(timeout, TimeUnit.MILLISECONDS)
+                        .whenComplete((addresses, throwable) -> {
+                            expiresAt = System.nanoTime() + (throwable == null ? ttl : negativeTtl);
+                            done = true;
+                        });
+            }
+
+            private boolean isExpired() {
+                return done && System.nanoTime() - expiresAt >= 0;
+            }
+        }
+    }
+
+    /**
+     * Resolve a host to its addresses.
+     */
+    @FunctionalInterface
+    interface Lookup {
+        /**
+         * Resolve a host.
+         *
+         * @param host The host name or IP address.
+         * @return Addresses of the host.
+         * @throws IOException if the host can't be resolved.
+         */
+        InetAddress[] resolve(String host) throws IOException;
+    }
+}
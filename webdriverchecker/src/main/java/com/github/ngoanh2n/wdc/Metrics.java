@@ -0,0 +1,438 @@
+package com.github.ngoanh2n.wdc;
+
+import com.github.ngoanh2n.Property;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Runtime metrics of {@link WebDriverChecker}: latency of checkers, Shell commands and Selenium commands,
+ * and effectiveness of caches.
+ * <ul>
+ *     <li>{@code Metrics.snapshot()} reads all metrics at once</li>
+ *     <li>System property {@code wdc.metrics.jmx=true} exposes them as MXBean {@code com.github.ngoanh2n.wdc:type=Metrics},
+ *     it's off by default so a library doesn't register a platform MBean nobody asked for</li>
+ *     <li>System property {@code wdc.metrics=false} turns recording off</li>
+ * </ul>
+ * Recording is lock-free: counters are {@link LongAdder}, and latencies go into power-of-two buckets in nanoseconds.<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/webdriverchecker">ngoanh2n/webdriverchecker</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/webdriverchecker">com.github.ngoanh2n:webdriverchecker</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2020
+ */
+public final class Metrics {
+    /**
+     * Name of the MXBean.
+     */
+    public static final String OBJECT_NAME = "com.github.ngoanh2n.wdc:type=Metrics";
+    static final boolean ENABLED = Property.ofBoolean("wdc.metrics", true).getValue();
+    static final Timer SHELL = new Timer();
+    static final Timer COMMAND = new Timer();
+    static final Counter VERDICT = new Counter();
+    static final Counter PROBE = new Counter();
+    static final Counter DNS = new Counter();
+    private static final Map<String, Timer> checkers = new ConcurrentHashMap<>();
+    private static final ClassValue<Timer> timers = new ClassValue<>() {
+        @Override
+        protected Timer computeValue(Class<?> type) {
+            return checkers.computeIfAbsent(name(type), key -> new Timer());
+        }
+    };
+
+    static {
+        if (ENABLED && Property.ofBoolean("wdc.metrics.jmx", false).getValue()) {
+            register();
+        }
+    }
+
+    private Metrics() { /**/ }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Read all metrics at once.
+     *
+     * @return The {@link Snapshot}.
+     */
+    public static Snapshot snapshot() {
+        Map<String, Timing> checkerTimings = new TreeMap<>();
+        checkers.forEach((name, timer) -> checkerTimings.put(name, timer.timing()));
+
+        Map<String, Hits> caches = new TreeMap<>();
+        caches.put("verdict", VERDICT.hits());
+        caches.put("probe", PROBE.hits());
+        caches.put("dns", DNS.hits());
+        return new Snapshot(Map.copyOf(checkerTimings), SHELL.timing(), COMMAND.timing(), Map.copyOf(caches));
+    }
+
+    /**
+     * Reset all metrics to zero.
+     */
+    public static void reset() {
+        checkers.values().forEach(Timer::reset);
+        SHELL.reset();
+        COMMAND.reset();
+        VERDICT.reset();
+        PROBE.reset();
+        DNS.reset();
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Get the start time of a measurement.
+     *
+     * @return {@link System#nanoTime()}, or {@code 0} if metrics are disabled.
+     */
+    static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Get the {@link Timer} of a checker.
+     *
+     * @param type The class of the checker.
+     * @return The {@link Timer}, is shared by all checkers of the class.
+     */
+    static Timer checker(Class<?> type) {
+        return timers.get(type);
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Get the name of a checker in metrics and events.
+     *
+     * @param type The class of the checker.
+     * @return The simple name for checkers of {@link CheckerType}, otherwise the fully qualified name.
+     */
+    static String name(Class<?> type) {
+        if (type.getEnclosingClass() == CheckerType.class) {
+            return type.getSimpleName();
+        }
+        return type.getName();
+    }
+
+    /**
+     * Register the MXBean to the platform MBean server, it's done once.
+     */
+    static void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new Bean(), name);
+            }
+        } catch (Exception | LinkageError ignored) {
+            // JMX isn't available, metrics are still readable through snapshot()
+        }
+    }
+
+    //===============================================================================//
+
+    /**
+     * Latency recorder of an operation.
+     */
+    static final class Timer {
+        private static final int size = 64;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+        private final LongAdder[] buckets = new LongAdder[size];
+
+        Timer() {
+            for (int i = 0; i < size; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Record an operation which started at {@link Metrics#start()}.
+         *
+         * @param start The start time.
+         */
+        void record(long start) {
+            if (ENABLED) {
+                long nanos = Math.max(0, System.nanoTime() - start);
+                count.increment();
+                total.add(nanos);
+                max.accumulate(nanos);
+                buckets[bucket(nanos)].increment();
+            }
+        }
+
+        /**
+         * Record a failed operation which started at {@link Metrics#start()}.
+         *
+         * @param start The start time.
+         */
+        void fail(long start) {
+            if (ENABLED) {
+                failures.increment();
+                record(start);
+            }
+        }
+
+        Timing timing() {
+            long[] counts = new long[size];
+            for (int i = 0; i < size; i++) {
+                counts[i] = buckets[i].sum();
+            }
+            return new Timing(count.sum(), failures.sum(), total.sum(), max.get(), counts);
+        }
+
+        void reset() {
+            count.reset();
+            failures.reset();
+            total.reset();
+            max.reset();
+            for (LongAdder bucket : buckets) {
+                bucket.reset();
+            }
+        }
+
+        static int bucket(long nanos) {
+            return nanos <= 0 ? 0 : 63 - Long.numberOfLeadingZeros(nanos);
+        }
+    }
+
+    /**
+     * Hit and miss counter of a cache.
+     */
+    static final class Counter {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        void hit() {
+            if (ENABLED) {
+                hits.increment();
+            }
+        }
+
+        void miss() {
+            if (ENABLED) {
+                misses.increment();
+            }
+        }
+
+        Hits hits() {
+            return new Hits(hits.sum(), misses.sum());
+        }
+
+        void reset() {
+            hits.reset();
+            misses.reset();
+        }
+    }
+
+    //===============================================================================//
+
+    /**
+     * All metrics at a point in time.
+     *
+     * @param checkers Latency of checkers, keyed by the class name of the checker, e.g. {@code Chrome}.
+     *                 A call includes the alive check and the verdict cache.
+     * @param shell    Latency of Shell commands, a failure is a command which can't start or exceeds its deadline.
+     * @param command  Latency of Selenium command round-trips sent by {@code runCommand} and {@code runCommands}.
+     * @param caches   Hits and misses of caches: {@code verdict}, {@code probe} and {@code dns}.
+     */
+    public record Snapshot(Map<String, Timing> checkers, Timing shell, Timing command, Map<String, Hits> caches) {
+    }
+
+    /**
+     * Latency of an operation.
+     *
+     * @param count      The number of operations.
+     * @param failures   The number of failed operations, they are included in count.
+     * @param totalNanos The sum of latencies in nanoseconds.
+     * @param maxNanos   The maximum latency in nanoseconds.
+     * @param buckets    Counts of latencies, bucket {@code i} holds latencies in {@code [2^i, 2^(i+1))} nanoseconds.
+     */
+    public record Timing(long count, long failures, long totalNanos, long maxNanos, long[] buckets) {
+        /**
+         * Get the mean latency.
+         *
+         * @return The mean latency in nanoseconds, {@code 0} if nothing is recorded.
+         */
+        public long meanNanos() {
+            return count == 0 ? 0 : totalNanos / count;
+        }
+
+        /**
+         * Get a percentile of latency, it's the upper bound of the bucket which holds the percentile.
+         *
+         * @param percentile The percentile in {@code (0, 100]}, e.g. {@code 99}.
+         * @return The latency in nanoseconds, {@code 0} if nothing is recorded.
+         */
+        public long percentileNanos(double percentile) {
+            long recorded = 0;
+            for (long bucket : buckets) {
+                recorded += bucket;
+            }
+            if (recorded == 0) {
+                return 0;
+            }
+
+            long rank = (long) Math.ceil(recorded * Math.min(100, Math.max(0, percentile)) / 100);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= Math.max(1, rank)) {
+                    return Math.min(maxNanos, i == 62 ? Long.MAX_VALUE : (2L << i) - 1);
+                }
+            }
+            return maxNanos;
+        }
+    }
+
+    /**
+     * Effectiveness of a cache.
+     *
+     * @param hits   The number of lookups are served by the cache.
+     * @param misses The number of lookups load the value.
+     */
+    public record Hits(long hits, long misses) {
+        /**
+         * Get the hit rate.
+         *
+         * @return The ratio of hits to lookups, {@code 0} if nothing is recorded.
+         */
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    //===============================================================================//
+
+    /**
+     * JMX view of {@link Metrics}, latencies are in microseconds.<br>
+     * Keys of timers are {@code checker.<Name>}, {@code shell} and {@code command}.
+     */
+    public interface MetricsMXBean {
+        /**
+         * Get the number of operations of each timer, failed ones included.
+         *
+         * @return Counts keyed by timer.
+         */
+        Map<String, Long> getCounts();
+
+        /**
+         * Get the number of failed operations of each timer.
+         *
+         * @return Failures keyed by timer.
+         */
+        Map<String, Long> getFailures();
+
+        /**
+         * Get the mean latency of each timer.
+         *
+         * @return Mean latencies in microseconds keyed by timer, {@code 0} if nothing is recorded.
+         */
+        Map<String, Long> getMeanMicros();
+
+        /**
+         * Get the 99th percentile latency of each timer, it's the upper bound of the bucket which holds it.
+         *
+         * @return 99th percentile latencies in microseconds keyed by timer, {@code 0} if nothing is recorded.
+         */
+        Map<String, Long> getP99Micros();
+
+        /**
+         * Get the maximum latency of each timer.
+         *
+         * @return Maximum latencies in microseconds keyed by timer, {@code 0} if nothing is recorded.
+         */
+        Map<String, Long> getMaxMicros();
+
+        /**
+         * Get the number of lookups which each cache serves without loading.
+         *
+         * @return Hits keyed by cache: {@code verdict}, {@code probe} and {@code dns}.
+         */
+        Map<String, Long> getCacheHits();
+
+        /**
+         * Get the number of lookups which each cache has to load.
+         *
+         * @return Misses keyed by cache: {@code verdict}, {@code probe} and {@code dns}.
+         */
+        Map<String, Long> getCacheMisses();
+
+        /**
+         * Reset all metrics to zero.
+         */
+        void reset();
+    }
+
+    private static final class Bean implements MetricsMXBean {
+        @Override
+        public Map<String, Long> getCounts() {
+            return timings(Timing::count);
+        }
+
+        @Override
+        public Map<String, Long> getFailures() {
+            return timings(Timing::failures);
+        }
+
+        @Override
+        public Map<String, Long> getMeanMicros() {
+            return timings(timing -> TimeUnit.NANOSECONDS.toMicros(timing.meanNanos()));
+        }
+
+        @Override
+        public Map<String, Long> getP99Micros() {
+            return timings(timing -> TimeUnit.NANOSECONDS.toMicros(timing.percentileNanos(99)));
+        }
+
+        @Override
+        public Map<String, Long> getMaxMicros() {
+            return timings(timing -> TimeUnit.NANOSECONDS.toMicros(timing.maxNanos()));
+        }
+
+        @Override
+        public Map<String, Long> getCacheHits() {
+            return caches(Hits::hits);
+        }
+
+        @Override
+        public Map<String, Long> getCacheMisses() {
+            return caches(Hits::misses);
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+
+        private static Map<String, Long> timings(Function<Timing, Long> reader) {
+            Snapshot snapshot = snapshot();
+            Map<String, Long> values = new TreeMap<>();
+            snapshot.checkers().forEach((name, timing) -> values.put("checker." + name, reader.apply(timing)));
+            values.put("shell", reader.apply(snapshot.shell()));
+            values.put("command", reader.apply(snapshot.command()));
+            return values;
+        }
+
+        private static Map<String, Long> caches(Function<Hits, Long> reader) {
+            Map<String, Long> values = new TreeMap<>();
+            snapshot().caches().forEach((name, hits) -> values.put(name, reader.apply(hits)));
+            return values;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.github.ngoanh2n.wdc;
+
+import org.openqa.selenium.Platform;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Normalize platform and browser names of capabilities to the canonical names which checkers compare with.<br>
+ * Tables of every known spelling are built once from Selenium's {@link Platform} and vendor aliases:
+ * a lookup is a hash hit, then a case-insensitive search, without exceptions or regular expressions.<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/webdriverchecker">ngoanh2n/webdriverchecker</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/webdriverchecker">com.github.ngoanh2n:webdriverchecker</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2020
+ */
+final class Names {
+    private static final String ANY = Platform.ANY.name().toLowerCase(Locale.ROOT);
+    private static final Map<String, String> platforms = new HashMap<>();
+    private static final Map<String, String> platformsIgnoreCase = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private static final Map<String, String> browsers = new HashMap<>();
+    private static final Map<String, String> browsersIgnoreCase = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        for (Platform platform : Platform.values()) {
+            registerPlatform(platform.name(), canonical(platform));
+        }
+        for (Platform platform : Platform.values()) {
+            registerPlatform(platform.toString(), canonical(platform));
+        }
+        for (Platform platform : Platform.values()) {
+            for (String part : platform.getPartOfOsName()) {
+                registerPlatform(part, canonical(platform));
+            }
+        }
+        registerPlatform("macOS", canonical(Platform.MAC));
+        registerPlatform("Mac OS X", canonical(Platform.MAC));
+        registerPlatform("OS X", canonical(Platform.MAC));
+        registerPlatform("darwin", canonical(Platform.MAC));
+        registerPlatform("iPadOS", canonical(Platform.IOS));
+
+        registerBrowser("chrome", "Google Chrome", "chrome-headless-shell");
+        registerBrowser("msedge", "MicrosoftEdge", "Microsoft Edge", "edge");
+        registerBrowser("safari", "Safari Technology Preview");
+        registerBrowser("firefox", "Mozilla Firefox");
+        registerBrowser("opera", "operablink", "Opera Blink");
+        registerBrowser("internetexplorer", "internet explorer", "iexplore", "ie");
+    }
+
+    private Names() { /**/ }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Normalize the platform of a session.
+     *
+     * @param platformName The capability {@code platformName}.
+     * @param platform     The capability {@code platform}, it's used when {@code platformName} is empty or {@code ANY}.
+     * @return The lowercase name of {@link Platform} or its family, e.g. {@code mac}, {@code windows}, {@code linux},
+     * {@code ios}, {@code android}, or empty if it's unknown.
+     */
+    static String platform(String platformName, String platform) {
+        String value = lookup(platforms, platformsIgnoreCase, platformName);
+        if (value == null || value.equals(ANY)) {
+            String fallback = lookup(platforms, platformsIgnoreCase, platform);
+            if (fallback != null) {
+                return fallback;
+            }
+        }
+        return value == null ? "" : value;
+    }
+
+    /**
+     * Normalize the browser name of a session.
+     *
+     * @param browserName The capability {@code browserName}.
+     * @return The canonical name, e.g. {@code chrome}, {@code msedge}, {@code internetexplorer}.
+     * An unknown name is lowercase without whitespace.
+     */
+    static String browser(String browserName) {
+        String value = lookup(browsers, browsersIgnoreCase, browserName);
+        if (value != null) {
+            return value;
+        }
+        return browserName == null ? "" : compact(browserName);
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private static String lookup(Map<String, String> exact, Map<String, String> ignoreCase, String raw) {
+        if (raw == null || raw.isEmpty()) {
+            return null;
+        }
+        String value = exact.get(raw);
+        if (value != null) {
+            return value;
+        }
+        String key = raw.trim();
+        return key.isEmpty() ? null : ignoreCase.get(key);
+    }
+
+    private static String canonical(Platform platform) {
+        Platform family = platform.family();
+        if (family != null && !platform.equals(Platform.LINUX)) {
+            platform = family;
+        }
+        return platform.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static void registerPlatform(String alias, String canonical) {
+        if (alias == null || alias.isBlank()) {
+            return;
+        }
+        platforms.putIfAbsent(alias, canonical);
+        platforms.putIfAbsent(alias.toLowerCase(Locale.ROOT), canonical);
+        platforms.putIfAbsent(alias.toUpperCase(Locale.ROOT), canonical);
+        platformsIgnoreCase.putIfAbsent(alias, canonical);
+    }
+
+    private static void registerBrowser(String canonical, String... aliases) {
+        browsers.put(canonical, canonical);
+        browsersIgnoreCase.put(canonical, canonical);
+        for (String alias : aliases) {
+            browsers.put(alias, canonical);
+            browsers.put(alias.toLowerCase(Locale.ROOT), canonical);
+            browsersIgnoreCase.put(alias, canonical);
+            browsersIgnoreCase.put(compact(alias), canonical);
+        }
+    }
+
+    private static String compact(String value) {
+        StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                builder.append(Character.toLowerCase(c));
+            }
+        }
+        return builder.toString();
+    }
+}
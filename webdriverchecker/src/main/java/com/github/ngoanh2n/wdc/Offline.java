@@ -0,0 +1,177 @@
+package com.github.ngoanh2n.wdc;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.json.Json;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Evaluate verdicts of {@link WebDriverChecker} from capabilities alone, before a session exists.
+ * <ul>
+ *     <li>Platform, browser and native app checks, and conjunctions of them, read capabilities only</li>
+ *     <li>Checks which need the server URL, a process or a daemon are unknown,
+ *     unless a known part of a conjunction is already false</li>
+ *     <li>No driver, network call or process is involved, so a capability set costs a few map lookups</li>
+ * </ul>
+ * Capabilities of a {@code newSession} request are accepted as is, and normalized the same way as {@link Snapshot} of a session:
+ * {@code appium:} prefixed names and {@code appium:options} are read as their plain names.<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/webdriverchecker">ngoanh2n/webdriverchecker</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/webdriverchecker">com.github.ngoanh2n:webdriverchecker</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2020
+ */
+final class Offline {
+    private static final Map<Check, Predicate<Snapshot>> checks = new EnumMap<>(Check.class);
+    private static final Map<Check, Long> conjunctions = new EnumMap<>(Check.class);
+
+    static {
+        checks.put(Check.MACOS, snapshot -> snapshot.platform().equals("mac"));
+        checks.put(Check.LINUX, snapshot -> snapshot.platform().equals("linux"));
+        checks.put(Check.WINDOWS, snapshot -> snapshot.platform().equals("windows"));
+        checks.put(Check.PC, snapshot -> isPC(snapshot.platform()));
+        checks.put(Check.IOS, snapshot -> snapshot.platform().equals("ios"));
+        checks.put(Check.ANDROID, snapshot -> snapshot.platform().equals("android"));
+        checks.put(Check.MOBILE, snapshot -> snapshot.platform().equals("ios") || snapshot.platform().equals("android"));
+        checks.put(Check.BROWSER, snapshot -> !snapshot.browserName().isEmpty());
+        checks.put(Check.NATIVE, Offline::isNative);
+        checks.put(Check.CHROME, snapshot -> snapshot.browserName().equals("chrome"));
+        checks.put(Check.SAFARI, snapshot -> snapshot.browserName().equals("safari"));
+        checks.put(Check.FIREFOX, snapshot -> snapshot.browserName().equals("firefox"));
+        checks.put(Check.EDGE, snapshot -> snapshot.browserName().equals("msedge"));
+        checks.put(Check.OPERA, snapshot -> snapshot.browserName().equals("opera"));
+        checks.put(Check.IE, snapshot -> snapshot.browserName().equals("internetexplorer"));
+
+        for (Check check : Check.values()) {
+            WebDriverChecker wdc = CheckerType.of(check);
+            if (wdc instanceof CheckerType.Conjunction) {
+                long mask = 0;
+                for (Plan.Step step : ((CheckerType.Conjunction) wdc).steps()) {
+                    mask |= step.check().bit();
+                }
+                conjunctions.put(check, mask);
+            }
+        }
+    }
+
+    private Offline() { /**/ }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Build the profile of capabilities.
+     *
+     * @param capabilities The {@link Capabilities} of a {@code newSession} request or response.
+     * @return The {@link DriverProfile}, verdicts which need a session are unknown.
+     */
+    static DriverProfile profile(Capabilities capabilities) {
+        if (capabilities == null) {
+            throw new CheckerException("Capabilities are null");
+        }
+        return profile(capabilities.asMap());
+    }
+
+    /**
+     * Build the profile of W3C capabilities in JSON.
+     *
+     * @param json A capabilities object, a {@code newSession} request with {@code alwaysMatch} and {@code firstMatch},
+     *             or a {@code newSession} response.
+     * @return The {@link DriverProfile}, verdicts which need a session are unknown.
+     * @throws CheckerException if the JSON isn't an object.
+     */
+    static DriverProfile profile(String json) {
+        if (json == null || json.isBlank()) {
+            throw new CheckerException("Capabilities JSON is empty");
+        }
+
+        Object value;
+        try {
+            value = new Json().toType(json, Json.MAP_TYPE);
+        } catch (RuntimeException exception) {
+            throw new CheckerException("Invalid capabilities JSON", exception);
+        }
+        if (!(value instanceof Map)) {
+            throw new CheckerException("Capabilities JSON isn't an object");
+        }
+        return profile(w3c(value));
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private static DriverProfile profile(Map<String, ?> capabilities) {
+        Snapshot snapshot = Snapshot.of(new ImmutableCapabilities(Snapshot.normalize(capabilities)), null);
+        long verdicts = 0;
+        long known = 0;
+
+        for (Map.Entry<Check, Predicate<Snapshot>> entry : checks.entrySet()) {
+            long bit = entry.getKey().bit();
+            known |= bit;
+            if (entry.getValue().test(snapshot)) {
+                verdicts |= bit;
+            }
+        }
+        for (Map.Entry<Check, Long> entry : conjunctions.entrySet()) {
+            long mask = entry.getValue();
+            long bit = entry.getKey().bit();
+            if ((known & mask) == mask) {
+                known |= bit;
+                if ((verdicts & mask) == mask) {
+                    verdicts |= bit;
+                }
+            } else if ((known & ~verdicts & mask) != 0) {
+                known |= bit;
+            }
+        }
+        return new DriverProfile(snapshot, verdicts, known);
+    }
+
+    private static boolean isPC(String platform) {
+        return platform.equals("mac") || platform.equals("linux") || platform.equals("windows");
+    }
+
+    private static boolean isNative(Snapshot snapshot) {
+        boolean android = snapshot.platform().equals("android");
+        if (CheckerType.Native.isApp(snapshot.app(), snapshot.appPackage(), android)) {
+            return !snapshot.isAutoWebview();
+        }
+        return false;
+    }
+
+    /*
+     * Unwrap {"value": {"capabilities": ...}} of a response, and merge alwaysMatch with the first firstMatch of a request.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> w3c(Object json) {
+        Map<String, Object> map = (Map<String, Object>) json;
+        if (map.get("value") instanceof Map) {
+            map = (Map<String, Object>) map.get("value");
+        }
+        if (map.get("capabilities") instanceof Map) {
+            map = (Map<String, Object>) map.get("capabilities");
+        }
+        if (!map.containsKey("alwaysMatch") && !map.containsKey("firstMatch")) {
+            return map;
+        }
+
+        Map<String, Object> merged = new HashMap<>();
+        if (map.get("alwaysMatch") instanceof Map) {
+            merged.putAll((Map<String, Object>) map.get("alwaysMatch"));
+        }
+        if (map.get("firstMatch") instanceof List) {
+            List<Object> firstMatch = (List<Object>) map.get("firstMatch");
+            if (!firstMatch.isEmpty() && firstMatch.get(0) instanceof Map) {
+                ((Map<String, Object>) firstMatch.get(0)).forEach(merged::putIfAbsent);
+            }
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,155 @@
+package com.github.ngoanh2n.wdc;
+
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Evaluation order of a conjunction of {@link Check}s, is used by {@link WebDriverChecker#matches}
+ * and composite checkers such as {@code isAndroidVirtual}.
+ * <ul>
+ *     <li>Steps are ordered by {@link Check.Cost}, so capability reads can rule out a session before a process is forked</li>
+ *     <li>At evaluation, steps which are memoized for the session are tested before the others</li>
+ *     <li>Evaluation stops at the first step which doesn't hold</li>
+ * </ul>
+ * Plans are cached per pair of sets, {@code WebDriverChecker.plan(all, none)} shows the chosen order.<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/webdriverchecker">ngoanh2n/webdriverchecker</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/webdriverchecker">com.github.ngoanh2n:webdriverchecker</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2020
+ */
+public final class Plan {
+    private static final int capacity = 1024;
+    private static final Map<Key, Plan> plans = new ConcurrentHashMap<>();
+    private final List<Step> steps;
+    private final Check[] checks;
+    private final boolean[] expected;
+
+    private Plan(List<Step> steps) {
+        this.steps = List.copyOf(steps);
+        this.checks = new Check[steps.size()];
+        this.expected = new boolean[steps.size()];
+        for (int i = 0; i < checks.length; i++) {
+            checks[i] = steps.get(i).check();
+            expected[i] = steps.get(i).expected();
+        }
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Get the plan of a conjunction.
+     *
+     * @param all  The checks must be true.
+     * @param none The checks must be false.
+     * @return The {@link Plan}, is shared by calls with the same sets.
+     */
+    static Plan of(Set<Check> all, Set<Check> none) {
+        Key key = new Key(mask(all), mask(none));
+        Plan plan = plans.get(key);
+        if (plan == null) {
+            if (plans.size() >= capacity) {
+                plans.clear();
+            }
+            plan = plans.computeIfAbsent(key, k -> build(all, none));
+        }
+        return plan;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Get steps of the plan in evaluation order, before memoized steps are moved ahead.
+     *
+     * @return The {@link Step}s.
+     */
+    public List<Step> steps() {
+        return steps;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(" -> ", "Plan{", "}");
+        steps.forEach(step -> joiner.add(step.toString()));
+        return joiner.toString();
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Evaluate the plan for a session.
+     *
+     * @param driver The live {@link RemoteWebDriver}.
+     * @return true if every step holds.
+     */
+    boolean test(RemoteWebDriver driver) {
+        Session session = Session.of(driver);
+        for (int i = 0; i < checks.length; i++) {
+            if (session.known(checks[i]) && verdict(session, driver, i) != expected[i]) {
+                return false;
+            }
+        }
+        for (int i = 0; i < checks.length; i++) {
+            if (!session.known(checks[i]) && verdict(session, driver, i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private boolean verdict(Session session, RemoteWebDriver driver, int index) {
+        Check check = checks[index];
+        return session.verdict(check, () -> CheckerType.of(check).check(driver));
+    }
+
+    private static Plan build(Set<Check> all, Set<Check> none) {
+        List<Step> steps = new ArrayList<>();
+        all.forEach(check -> steps.add(new Step(check, true)));
+        none.forEach(check -> steps.add(new Step(check, false)));
+        steps.sort(Comparator
+                .comparing((Step step) -> step.check().cost())
+                .thenComparing(Step::check)
+                .thenComparing(step -> !step.expected()));
+        return new Plan(steps);
+    }
+
+    private static long mask(Set<Check> checks) {
+        long mask = 0;
+        for (Check check : checks) {
+            mask |= check.bit();
+        }
+        return mask;
+    }
+
+    //===============================================================================//
+
+    /**
+     * A step of {@link Plan}.
+     *
+     * @param check    The {@link Check} to evaluate.
+     * @param expected The result the step requires.
+     */
+    public record Step(Check check, boolean expected) {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return (expected ? "" : "!") + check + "[" + check.cost() + "]";
+        }
+    }
+
+    private record Key(long all, long none) {
+    }
+}
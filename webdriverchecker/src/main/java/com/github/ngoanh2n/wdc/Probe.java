@@ -0,0 +1,136 @@
+package com.github.ngoanh2n.wdc;
+
+import com.github.ngoanh2n.Property;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide cache of a parsed result of an external probe, such as {@code docker}, {@code adb} or {@code simctl}.<br>
+ * The result is shared by all sessions on the JVM and reloaded after it's expired.
+ * Concurrent callers of an expired probe are coalesced, so only one of them runs the probe at a time.<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/webdriverchecker">ngoanh2n/webdriverchecker</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/webdriverchecker">com.github.ngoanh2n:webdriverchecker</a></em></li>
+ * </ul>
+ *
+ * @param <T> The type of the result.
+ * @author ngoanh2n
+ * @since 2020
+ */
+final class Probe<T> {
+    /**
+     * Default time to live of a result, is set by system property {@code wdc.probe.ttl} in milliseconds.
+     */
+    static final long TTL = TimeUnit.MILLISECONDS.toNanos(Property.ofInteger("wdc.probe.ttl", 5000).getValue());
+    private final Supplier<T> loader;
+    private final long ttl;
+    private volatile Entry<T> entry;
+    private CompletableFuture<T> loading;
+
+    private Probe(Supplier<T> loader, long ttl) {
+        this.loader = loader;
+        this.ttl = ttl;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Create a probe with the default time to live.
+     *
+     * @param loader The probe which produces the result.
+     * @param <T>    The type of the result.
+     * @return The {@link Probe}.
+     */
+    static <T> Probe<T> of(Supplier<T> loader) {
+        return new Probe<>(loader, TTL);
+    }
+
+    /**
+     * Create a probe with a time to live.
+     *
+     * @param loader The probe which produces the result.
+     * @param ttl    The time to live of a result.
+     * @param <T>    The type of the result.
+     * @return The {@link Probe}.
+     */
+    static <T> Probe<T> of(Supplier<T> loader, Duration ttl) {
+        return new Probe<>(loader, ttl.toNanos());
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Get the cached result, or run the probe if it's expired.
+     *
+     * @return The result of the probe.
+     */
+    T get() {
+        Entry<T> current = entry;
+        if (current != null && current.isFresh()) {
+            Metrics.PROBE.hit();
+            return current.value;
+        }
+
+        CompletableFuture<T> future;
+        boolean owner = false;
+        synchronized (this) {
+            current = entry;
+            if (current != null && current.isFresh()) {
+                Metrics.PROBE.hit();
+                return current.value;
+            }
+            if (loading == null) {
+                loading = new CompletableFuture<>();
+                owner = true;
+            }
+            future = loading;
+        }
+
+        if (owner) {
+            Metrics.PROBE.miss();
+            try {
+                T value = loader.get();
+                entry = new Entry<>(value, System.nanoTime() + ttl);
+                future.complete(value);
+            } catch (RuntimeException | Error e) {
+                future.completeExceptionally(e);
+                throw e;
+            } finally {
+                synchronized (this) {
+                    loading = null;
+                }
+            }
+        } else {
+            Metrics.PROBE.hit();
+        }
+        return future.join();
+    }
+
+    /**
+     * Drop the cached result, the next {@link #get()} runs the probe again.
+     */
+    void invalidate() {
+        entry = null;
+    }
+
+    //===============================================================================//
+
+    private static final class Entry<T> {
+        private final T value;
+        private final long expiresAt;
+
+        private Entry(T value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isFresh() {
+            return System.nanoTime() - expiresAt < 0;
+        }
+    }
+}
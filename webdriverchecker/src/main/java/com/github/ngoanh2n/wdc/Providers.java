@@ -0,0 +1,130 @@
+package com.github.ngoanh2n.wdc;
+
+import com.github.ngoanh2n.Property;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.ref.SoftReference;
+import java.util.*;
+
+/**
+ * Resolve and cache {@link WebDriverProvider} implementations for {@link WebDriverChecker}.<br>
+ * The {@link ServiceLoader} is consulted once per class loader, the result is kept for subsequent calls.
+ * It's held softly: providers are loaded by the class loader, so a strong value would keep its weak key alive forever.<br>
+ * Selection is deterministic:
+ * <ol>
+ *     <li>The provider registered via {@link WebDriverChecker#useProvider(WebDriverProvider)}</li>
+ *     <li>The provider named by system property {@code wdc.provider} (fully qualified class name), is read at every call</li>
+ *     <li>Discovered providers ordered by {@link WebDriverProvider#priority()} descending, then by class name</li>
+ * </ol>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/webdriverchecker">ngoanh2n/webdriverchecker</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/webdriverchecker">com.github.ngoanh2n:webdriverchecker</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2020
+ */
+final class Providers {
+    private static final Map<ClassLoader, SoftReference<List<WebDriverProvider>>> providers = new WeakHashMap<>();
+    private static volatile WebDriverProvider registered;
+
+    private Providers() { /**/ }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Register a provider which overrides all discovered providers.
+     *
+     * @param provider The {@link WebDriverProvider}, or {@code null} to go back to discovered providers.
+     */
+    static void register(WebDriverProvider provider) {
+        registered = provider;
+    }
+
+    /**
+     * Check whether any provider is registered or discovered.
+     *
+     * @return true if there is at least one provider.
+     */
+    static boolean exist() {
+        return registered != null || !candidates().isEmpty();
+    }
+
+    /**
+     * Provide {@link WebDriver} from the first provider which has one.
+     *
+     * @return The {@link WebDriver}, or {@code null} if no provider has one.
+     */
+    static WebDriver provide() {
+        Events.Provider event = new Events.Provider();
+        event.begin();
+        WebDriverProvider provider = registered;
+        WebDriver driver = null;
+
+        if (provider != null) {
+            driver = provider.provide();
+        } else {
+            for (WebDriverProvider discovered : candidates()) {
+                provider = discovered;
+                driver = discovered.provide();
+                if (driver != null) {
+                    break;
+                }
+            }
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.provider = provider == null ? null : provider.getClass();
+            event.found = driver != null;
+            event.commit();
+        }
+        return driver;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private static List<WebDriverProvider> candidates() {
+        List<WebDriverProvider> list = resolve();
+        String name = Property.ofString("wdc.provider").getValue();
+        if (name == null || name.isEmpty()) {
+            return list;
+        }
+
+        List<WebDriverProvider> named = new ArrayList<>(1);
+        for (WebDriverProvider provider : list) {
+            if (provider.getClass().getName().equals(name)) {
+                named.add(provider);
+            }
+        }
+        return named;
+    }
+
+    private static List<WebDriverProvider> resolve() {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (loader == null) {
+            loader = WebDriverProvider.class.getClassLoader();
+        }
+
+        synchronized (providers) {
+            SoftReference<List<WebDriverProvider>> reference = providers.get(loader);
+            List<WebDriverProvider> list = reference == null ? null : reference.get();
+            if (list == null) {
+                list = load(loader);
+                providers.put(loader, new SoftReference<>(list));
+            }
+            return list;
+        }
+    }
+
+    private static List<WebDriverProvider> load(ClassLoader loader) {
+        List<WebDriverProvider> list = new ArrayList<>();
+        ServiceLoader.load(WebDriverProvider.class, loader).forEach(list::add);
+        list.sort(Comparator
+                .comparingInt(WebDriverProvider::priority).reversed()
+                .thenComparing(provider -> provider.getClass().getName()));
+        return Collections.unmodifiableList(list);
+    }
+}
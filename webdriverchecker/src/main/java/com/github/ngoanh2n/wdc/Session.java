@@ -0,0 +1,319 @@
+package com.github.ngoanh2n.wdc;
+
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Per-{@link SessionId} state which {@link WebDriverChecker} keeps for a live WebDriver session.<br>
+ * It is created at the first check of a session and evicted when the session is observed as quit.
+ * With {@link LifecycleExecutor}, it is pre-filled when the session is created and evicted when it's quit.<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/webdriverchecker">ngoanh2n/webdriverchecker</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/webdriverchecker">com.github.ngoanh2n:webdriverchecker</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2020
+ */
+final class Session {
+    static final String NATIVE_APP = "NATIVE_APP";
+    private static final long unattachedTTL = TimeUnit.MINUTES.toNanos(10);
+    private static final Map<SessionId, Session> sessions = new ConcurrentHashMap<>();
+    private final long createdAt = System.nanoTime();
+    private final Snapshot snapshot;
+    private volatile WeakReference<RemoteWebDriver> driver;
+    private final AtomicLong known = new AtomicLong();
+    private final AtomicLong values = new AtomicLong();
+    private volatile long epoch;
+    private volatile long aliveUntil = System.nanoTime();
+    private volatile String context;
+    private volatile boolean contextObserved;
+    private volatile boolean contextQueried;
+    private volatile long contextUntil;
+
+    private Session(RemoteWebDriver driver) {
+        this.driver = new WeakReference<>(driver);
+        this.snapshot = Snapshot.of(((HasCapabilities) driver).getCapabilities(), driver.getCommandExecutor());
+    }
+
+    private Session(Snapshot snapshot) {
+        this.driver = null;
+        this.snapshot = snapshot;
+        this.contextObserved = true;
+        if (!snapshot.isAutoWebview()) {
+            this.context = NATIVE_APP;
+        }
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Get the state of the session which the driver is running.
+     *
+     * @param driver The live {@link RemoteWebDriver}.
+     * @return The {@link Session}, created at the first call.
+     * @throws CheckerException.UnsupportedSelenium if the running Selenium lacks a field which checkers read.
+     */
+    static Session of(RemoteWebDriver driver) {
+        SessionId id = driver.getSessionId();
+        if (id == null) {
+            throw new CheckerException.ClosedDriver();
+        }
+
+        Session session = sessions.get(id);
+        if (session == null) {
+            Accessors.verify();
+            purge();
+            session = sessions.computeIfAbsent(id, key -> new Session(driver));
+        }
+        if (session.driver == null) {
+            Accessors.verify();
+            session.attach(driver);
+        }
+        return session;
+    }
+
+    /**
+     * Check whether the state of a session is kept.
+     *
+     * @param id The {@link SessionId}.
+     * @return true if it's created and not evicted yet.
+     */
+    static boolean contains(SessionId id) {
+        return sessions.containsKey(id);
+    }
+
+    /**
+     * Pre-fill the state of a session which has just been created.
+     * The driver is attached at the first check of the session.
+     *
+     * @param id       The {@link SessionId} of the new session.
+     * @param snapshot The {@link Snapshot} of capabilities returned by {@code newSession}.
+     */
+    static void prefill(SessionId id, Snapshot snapshot) {
+        purge();
+        sessions.put(id, new Session(snapshot));
+    }
+
+    /**
+     * Evict the state of a session.
+     * It's called when the session is quit through {@link LifecycleExecutor}.
+     *
+     * @param id The {@link SessionId} of the quit session.
+     */
+    static void evict(SessionId id) {
+        sessions.remove(id);
+    }
+
+    /**
+     * Record the current context of a session which is observed by {@link LifecycleExecutor}.
+     *
+     * @param id      The {@link SessionId} of the session.
+     * @param context The context, e.g. {@code NATIVE_APP} or {@code WEBVIEW_1}, {@code null} if it's unknown.
+     * @return true if the context of a known session has changed.
+     */
+    static boolean contextChanged(SessionId id, String context) {
+        Session session = sessions.get(id);
+        return session != null && session.context(context);
+    }
+
+    /**
+     * Forget the current context of a session after an app lifecycle command observed by {@link LifecycleExecutor},
+     * e.g. {@code activateApp}. The context is queried again at the next context-dependent check.
+     *
+     * @param id The {@link SessionId} of the session.
+     * @return true if the session is known.
+     */
+    static boolean contextLost(SessionId id) {
+        Session session = sessions.get(id);
+        if (session == null) {
+            return false;
+        }
+        session.contextLost();
+        return true;
+    }
+
+    /**
+     * Evict all states which belong to the driver.
+     * It's called when the driver is observed as quit.
+     *
+     * @param driver The quit {@link RemoteWebDriver}.
+     */
+    static void evict(RemoteWebDriver driver) {
+        SessionId id = driver.getSessionId();
+        if (id != null) {
+            sessions.remove(id);
+        }
+        sessions.values().removeIf(session -> {
+            WeakReference<RemoteWebDriver> reference = session.driver;
+            return reference != null && (reference.get() == null || reference.get() == driver);
+        });
+    }
+
+    private static void purge() {
+        long now = System.nanoTime();
+        sessions.values().removeIf(session -> {
+            WeakReference<RemoteWebDriver> reference = session.driver;
+            if (reference == null) {
+                return now - session.createdAt > unattachedTTL;
+            }
+            return reference.get() == null;
+        });
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    Snapshot snapshot() {
+        return snapshot;
+    }
+
+    private synchronized void attach(RemoteWebDriver driver) {
+        if (this.driver == null) {
+            this.driver = new WeakReference<>(driver);
+        }
+    }
+
+    /**
+     * Get the current context of this session.<br>
+     * A context observed by {@link LifecycleExecutor} is used as is,
+     * otherwise the query result is trusted for the TTL and context-dependent verdicts expire with it.
+     *
+     * @param ttl   How long a query result is trusted, in nanoseconds.
+     * @param query The query of the current context, returns {@code null} if the session has no contexts,
+     *              then it isn't queried again.
+     * @return The context, {@code null} if the session has no contexts.
+     */
+    String context(long ttl, Supplier<String> query) {
+        if (contextObserved && context != null) {
+            return context;
+        }
+        if (contextQueried && (context == null || System.nanoTime() - contextUntil < 0)) {
+            return context;
+        }
+
+        String current = query.get();
+        context = current;
+        contextUntil = System.nanoTime() + ttl;
+        contextQueried = true;
+        return current;
+    }
+
+    /**
+     * Record the current context of this session, context-dependent verdicts are forgotten if it has changed.
+     *
+     * @param current The context, {@code null} if it's unknown.
+     * @return true if it has changed.
+     */
+    boolean context(String current) {
+        String previous = context;
+        context = current;
+        contextObserved = true;
+        if (current == null || !current.equals(previous)) {
+            forget(Check.CONTEXTUAL);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Forget the current context of this session and verdicts which depend on it.
+     */
+    synchronized void contextLost() {
+        context = null;
+        contextObserved = false;
+        contextQueried = false;
+        forget(Check.CONTEXTUAL);
+    }
+
+    /**
+     * Check whether this session is alive, the probe is skipped while the last successful one is fresh.
+     *
+     * @param ttl   How long a successful probe is trusted, in nanoseconds.
+     * @param probe The liveness probe.
+     * @return true if it's alive.
+     */
+    boolean alive(long ttl, BooleanSupplier probe) {
+        long now = System.nanoTime();
+        if (now - aliveUntil < 0) {
+            return true;
+        }
+        if (probe.getAsBoolean()) {
+            aliveUntil = now + ttl;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Check whether a verdict of this session is memoized.
+     *
+     * @param verdict The slot of the verdict.
+     * @return true if the next {@link #verdict(Check, BooleanSupplier)} is served from the table.
+     */
+    boolean known(Check verdict) {
+        expire(verdict);
+        return (known.get() & verdict.bit()) != 0;
+    }
+
+    /**
+     * Get a memoized verdict of this session, or evaluate and memoize it at the first call.
+     *
+     * @param verdict The slot of the verdict.
+     * @param checker The evaluation of the verdict.
+     * @return The verdict.
+     */
+    boolean verdict(Check verdict, BooleanSupplier checker) {
+        long bit = verdict.bit();
+        expire(verdict);
+        if ((known.get() & bit) != 0) {
+            Metrics.VERDICT.hit();
+            return (values.get() & bit) != 0;
+        }
+
+        Metrics.VERDICT.miss();
+        long start = epoch;
+        boolean value = checker.getAsBoolean();
+        publish(bit, value, start);
+        return value;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private void expire(Check verdict) {
+        if (verdict.contextual() && contextQueried && !contextObserved && context != null
+                && System.nanoTime() - contextUntil >= 0) {
+            forget(Check.CONTEXTUAL);
+        }
+    }
+
+    /*
+     * A verdict evaluated before a forget() belongs to the old context, it's returned to its caller but not memoized.
+     */
+    private synchronized void publish(long bit, boolean value, long start) {
+        if (epoch != start) {
+            return;
+        }
+        if (value) {
+            values.getAndUpdate(bits -> bits | bit);
+        } else {
+            values.getAndUpdate(bits -> bits & ~bit);
+        }
+        known.getAndUpdate(bits -> bits | bit);
+    }
+
+    private synchronized void forget(long bits) {
+        epoch++;
+        known.getAndUpdate(value -> value & ~bits);
+    }
+}
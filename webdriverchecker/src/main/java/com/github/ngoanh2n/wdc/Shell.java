@@ -0,0 +1,148 @@
+package com.github.ngoanh2n.wdc;
+
+import com.github.ngoanh2n.Property;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.function.BiFunction;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Run Shell commands for {@link WebDriverChecker} without blocking the caller.<br>
+ * Stdout and stderr are drained concurrently, so a command with large output can't fill the pipe buffer.<br>
+ * A command which exceeds its deadline is killed together with its child processes.<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/webdriverchecker">ngoanh2n/webdriverchecker</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/webdriverchecker">com.github.ngoanh2n:webdriverchecker</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2020
+ */
+final class Shell {
+    /**
+     * Default deadline of a command, is set by system property {@code wdc.shell.timeout} in milliseconds.
+     */
+    static final Duration TIMEOUT = Duration.ofMillis(Property.ofInteger("wdc.shell.timeout", 30000).getValue());
+    private static final ExecutorService streams = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "wdc-shell");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static volatile BiFunction<String, Duration, CompletableFuture<Result>> engine = Shell::start;
+
+    private Shell() { /**/ }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Run a Shell command asynchronously.
+     *
+     * @param command The command to run.
+     * @param timeout The deadline of the command.
+     * @return A {@link CompletableFuture} of the {@link Result}.
+     * It completes exceptionally with {@link TimeoutException} when the deadline is exceeded.
+     */
+    static CompletableFuture<Result> run(String command, Duration timeout) {
+        long start = Metrics.start();
+        Events.Shell event = new Events.Shell();
+        event.begin();
+        return engine.apply(command, timeout).whenComplete((result, throwable) -> {
+            if (throwable == null) {
+                Metrics.SHELL.record(start);
+            } else {
+                Metrics.SHELL.fail(start);
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.command = command;
+                event.exitCode = result == null ? -1 : result.exitCode();
+                event.failed = throwable != null;
+                event.commit();
+            }
+        });
+    }
+
+    /**
+     * Replace the engine which runs Shell commands, e.g. by a fake shell in benchmarks.
+     *
+     * @param engine The engine, {@code null} to restore forking real processes.
+     */
+    static void use(BiFunction<String, Duration, CompletableFuture<Result>> engine) {
+        Shell.engine = engine == null ? Shell::start : engine;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private static CompletableFuture<Result> start(String command, Duration timeout) {
+        Process process;
+        try {
+            process = new ProcessBuilder(args(command))
+                    .directory(new File("."))
+                    .redirectErrorStream(false)
+                    .start();
+            process.getOutputStream().close();
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<String> output = CompletableFuture.supplyAsync(() -> read(process.getInputStream()), streams);
+        CompletableFuture<String> error = CompletableFuture.supplyAsync(() -> read(process.getErrorStream()), streams);
+
+        return CompletableFuture
+                .allOf(output, error, process.onExit())
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((ignored, throwable) -> {
+                    if (throwable != null) {
+                        kill(process);
+                        throw throwable instanceof CompletionException
+                                ? (CompletionException) throwable
+                                : new CompletionException(throwable);
+                    }
+                    return new Result(process.exitValue(), lines(output.join()), lines(error.join()));
+                });
+    }
+
+    private static String[] args(String command) {
+        String os = Property.ofString("os.name").getValue();
+        return os.contains("Windows")
+                ? new String[]{"cmd.exe", "/c", command}
+                : new String[]{"bash", "-c", command};
+    }
+
+    private static String read(InputStream is) {
+        try (is) {
+            return new String(is.readAllBytes(), UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String[] lines(String text) {
+        return text.split("\r?\n|\r");
+    }
+
+    private static void kill(Process process) {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+
+    //===============================================================================//
+
+    /**
+     * Result of a finished Shell command.
+     *
+     * @param exitCode The exit code of the process.
+     * @param output   Lines the command printed to stdout.
+     * @param error    Lines the command printed to stderr.
+     */
+    record Result(int exitCode, String[] output, String[] error) {
+    }
+}
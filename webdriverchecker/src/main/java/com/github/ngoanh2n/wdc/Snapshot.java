@@ -0,0 +1,231 @@
+package com.github.ngoanh2n.wdc;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.TracedCommandExecutor;
+import org.openqa.selenium.remote.service.DriverCommandExecutor;
+
+import java.net.URL;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable snapshot of the normalized capabilities and executor of a WebDriver session.<br>
+ * It is built once per session by {@link Session} and read by every checker in {@link CheckerType}.
+ * Appium capabilities are also readable by their plain names,
+ * e.g. {@code appium:app} and {@code app} of {@code appium:options} are read as {@code app}.<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/webdriverchecker">ngoanh2n/webdriverchecker</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/webdriverchecker">com.github.ngoanh2n:webdriverchecker</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2020
+ */
+final class Snapshot {
+    private static final String APPIUM = "appium:";
+    private final Capabilities capabilities;
+    private final String platform;
+    private final String browserName;
+    private final String browserVersion;
+    private final BrowserVersion version;
+    private final String app;
+    private final String appPackage;
+    private final String deviceId;
+    private final URL serverURL;
+    private final Executor executor;
+
+    private Snapshot(Capabilities capabilities, CommandExecutor ce) {
+        this.capabilities = capabilities;
+        this.platform = Names.platform(read(capabilities, "platformName"), read(capabilities, "platform"));
+        this.browserName = Names.browser(read(capabilities, "browserName"));
+        this.browserVersion = readBrowserVersion(capabilities);
+        this.version = BrowserVersion.parse(browserVersion);
+        this.app = read(capabilities, "app").toLowerCase();
+        this.appPackage = read(capabilities, "appPackage").toLowerCase();
+        this.deviceId = readDeviceId(capabilities, platform);
+        this.serverURL = ce == null ? null : readServerURL(ce);
+        this.executor = ce == null ? Executor.OTHER : Executor.of(ce);
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Build a snapshot from capabilities and command executor of a session.
+     *
+     * @param capabilities The {@link Capabilities} of the session.
+     * @param ce           The {@link CommandExecutor} of the session, {@code null} if there's no session yet.
+     * @return The {@link Snapshot}.
+     */
+    static Snapshot of(Capabilities capabilities, CommandExecutor ce) {
+        Map<String, Object> map = capabilities.asMap();
+        Map<String, Object> plain = normalize(map);
+        return new Snapshot(plain.equals(map) ? capabilities : new ImmutableCapabilities(plain), ce);
+    }
+
+    /**
+     * Normalize capabilities, they are kept as is and Appium capabilities are added by their plain names.
+     * A plain name which is already set wins over the prefixed one, and {@code null} values are dropped.
+     *
+     * @param capabilities The capabilities, e.g. of a {@code newSession} request.
+     * @return The normalized capabilities.
+     */
+    static Map<String, Object> normalize(Map<String, ?> capabilities) {
+        Map<String, Object> plain = new HashMap<>();
+        capabilities.forEach((name, value) -> {
+            if (value != null) {
+                plain.put(name, value);
+            }
+        });
+        if (capabilities.get(APPIUM + "options") instanceof Map) {
+            ((Map<?, ?>) capabilities.get(APPIUM + "options")).forEach((name, value) -> {
+                if (name != null && value != null) {
+                    plain.putIfAbsent(APPIUM + name, value);
+                }
+            });
+        }
+        for (String name : List.copyOf(plain.keySet())) {
+            if (name.startsWith(APPIUM)) {
+                plain.putIfAbsent(name.substring(APPIUM.length()), plain.get(name));
+            }
+        }
+        return plain;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    Capabilities capabilities() {
+        return capabilities;
+    }
+
+    String platform() {
+        return platform;
+    }
+
+    String browserName() {
+        return browserName;
+    }
+
+    String browserVersion() {
+        return browserVersion;
+    }
+
+    BrowserVersion version() {
+        return version;
+    }
+
+    String app() {
+        return app;
+    }
+
+    String appPackage() {
+        return appPackage;
+    }
+
+    String deviceId() {
+        return deviceId;
+    }
+
+    URL serverURL() {
+        return serverURL;
+    }
+
+    Executor executor() {
+        return executor;
+    }
+
+    /**
+     * Check whether Appium switches to a web view context at session start, capability {@code autoWebview}.
+     *
+     * @return true if the session doesn't start in {@code NATIVE_APP} context.
+     */
+    boolean isAutoWebview() {
+        return Boolean.parseBoolean(read(capabilities, "autoWebview"));
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private static String read(Capabilities capabilities, String name) {
+        Object value = capabilities.getCapability(name);
+        return String.valueOf(Optional.ofNullable(value).orElse(""));
+    }
+
+    private static String readBrowserVersion(Capabilities capabilities) {
+        String value = read(capabilities, "browserVersion");
+        if (value.isEmpty()) {
+            value = read(capabilities, "version");
+        }
+        return value;
+    }
+
+    private static String readDeviceId(Capabilities capabilities, String platform) {
+        if (platform.equals("ios")) {
+            return read(capabilities, "appium:udid");
+        }
+        if (platform.equals("android")) {
+            return read(capabilities, "appium:deviceUDID");
+        }
+        return "";
+    }
+
+    private static URL readServerURL(CommandExecutor ce) {
+        try {
+            return Accessors.serverURL(ce);
+        } catch (RuntimeException ignored) {
+            return null;
+        }
+    }
+
+    //===============================================================================//
+
+    /**
+     * Kind of {@link CommandExecutor} the session is driven by.
+     */
+    enum Executor {
+        /**
+         * {@link DriverCommandExecutor}, the client started a local driver service.
+         */
+        SERVICE,
+        /**
+         * {@code AppiumCommandExecutor}, the client is connecting to an Appium server.
+         */
+        APPIUM,
+        /**
+         * {@link HttpCommandExecutor}, the client is connecting to a server by URL.
+         */
+        HTTP,
+        /**
+         * {@link TracedCommandExecutor}, the client is connecting to a server by URL with tracing.
+         */
+        TRACED,
+        /**
+         * Any other {@link CommandExecutor}.
+         */
+        OTHER;
+
+        static Executor of(CommandExecutor ce) {
+            if (ce instanceof LifecycleExecutor) {
+                return of(((LifecycleExecutor) ce).getDelegate());
+            }
+            if (ce instanceof DriverCommandExecutor) {
+                return SERVICE;
+            }
+            if (ce.getClass().getName().equals("io.appium.java_client.remote.AppiumCommandExecutor")) {
+                return APPIUM;
+            }
+            if (ce instanceof HttpCommandExecutor) {
+                return HTTP;
+            }
+            if (ce instanceof TracedCommandExecutor) {
+                return TRACED;
+            }
+            return OTHER;
+        }
+    }
+}
@@ -1,28 +1,23 @@
 package com.github.ngoanh2n.wdc;
 
-import com.github.ngoanh2n.Commons;
-import com.github.ngoanh2n.Property;
-import com.google.common.io.CharStreams;
 import org.openqa.selenium.Capabilities;
-import org.openqa.selenium.HasCapabilities;
-import org.openqa.selenium.Platform;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.remote.*;
 import org.openqa.selenium.remote.http.HttpMethod;
 import org.openqa.selenium.remote.http.HttpRequest;
 
-import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.net.URL;
-import java.util.Iterator;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
-import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 
-import static com.github.ngoanh2n.wdc.CheckerType.Browser;
 import static com.github.ngoanh2n.wdc.CheckerType.*;
-import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * Check {@link WebDriver} characteristics and environment.
@@ -51,6 +46,12 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  *              <li>{@code ...}</li>
  *          </ul>
  *     </li>
+ *     <li>Profile
+ *          <ul>
+ *              <li>{@code DriverProfile profile = WebDriverChecker.profile(driver)}</li>
+ *              <li>{@code DriverProfile profile = WebDriverChecker.of(capabilities)}</li>
+ *          </ul>
+ *     </li>
  * </ul>
  *
  * <b>Extension</b><br>
@@ -91,7 +92,7 @@ public abstract class WebDriverChecker {
      * @return true if it's macOS.
      */
     public static boolean isMacOS(WebDriver... driver) {
-        return is(new MacOS(), driver);
+        return is(MACOS, driver);
     }
 
     /**
@@ -102,7 +103,7 @@ public abstract class WebDriverChecker {
      * @return true if it's Linux.
      */
     public static boolean isLinux(WebDriver... driver) {
-        return is(new Linux(), driver);
+        return is(LINUX, driver);
     }
 
     /**
@@ -113,7 +114,7 @@ public abstract class WebDriverChecker {
      * @return true if it's Windows.
      */
     public static boolean isWindows(WebDriver... driver) {
-        return is(new Windows(), driver);
+        return is(WINDOWS, driver);
     }
 
     /**
@@ -125,7 +126,7 @@ public abstract class WebDriverChecker {
      * @return true if it's PC platform.
      */
     public static boolean isPC(WebDriver... driver) {
-        return is(new PC(), driver);
+        return is(PC, driver);
     }
 
     /**
@@ -136,7 +137,7 @@ public abstract class WebDriverChecker {
      * @return true if it's iOS.
      */
     public static boolean isIOS(WebDriver... driver) {
-        return is(new IOS(), driver);
+        return is(IOS, driver);
     }
 
     /**
@@ -147,7 +148,7 @@ public abstract class WebDriverChecker {
      * @return true if it's Android.
      */
     public static boolean isAndroid(WebDriver... driver) {
-        return is(new Android(), driver);
+        return is(ANDROID, driver);
     }
 
     /**
@@ -158,7 +159,7 @@ public abstract class WebDriverChecker {
      * @return true if it's iOS or Android.
      */
     public static boolean isMobile(WebDriver... driver) {
-        return is(new Mobile(), driver);
+        return is(MOBILE, driver);
     }
 
     /**
@@ -169,7 +170,7 @@ public abstract class WebDriverChecker {
      * @return true if it's alive.
      */
     public static boolean isAlive(WebDriver... driver) {
-        return is(new Alive(true), driver);
+        return is(ALIVE_DIRECTED, driver);
     }
 
     /**
@@ -180,7 +181,7 @@ public abstract class WebDriverChecker {
      * @return true if it's running locally.
      */
     public static boolean isLocal(WebDriver... driver) {
-        return is(new Local(), driver);
+        return is(LOCAL, driver);
     }
 
     /**
@@ -192,7 +193,7 @@ public abstract class WebDriverChecker {
      * @return true if it's running remotely.
      */
     public static boolean isRemote(WebDriver... driver) {
-        return is(new Remote(), driver);
+        return is(REMOTE, driver);
     }
 
     /**
@@ -203,7 +204,7 @@ public abstract class WebDriverChecker {
      * @return true if it's running in local Docker.
      */
     public static boolean isDocker(WebDriver... driver) {
-        return is(new Docker(), driver);
+        return is(DOCKER, driver);
     }
 
     /**
@@ -214,18 +215,20 @@ public abstract class WebDriverChecker {
      * @return true if it's a browser.
      */
     public static boolean isBrowser(WebDriver... driver) {
-        return is(new Browser(), driver);
+        return is(BROWSER, driver);
     }
 
     /**
-     * Check whether {@link WebDriver} for native app.
+     * Check whether {@link WebDriver} for native app.<br>
+     * A hybrid app in a {@code WEBVIEW} context isn't native. The current context is queried once per {@code wdc.context.ttl},
+     * or is tracked without round-trips when the session is created through {@link LifecycleExecutor}.
      *
      * @param driver The {@link WebDriver} for the first argument, and can be empty.<br>
      *               {@link WebDriverChecker} doesn't care from the second argument onwards.
      * @return true if it's a native app.
      */
     public static boolean isNative(WebDriver... driver) {
-        return is(new Native(), driver);
+        return is(NATIVE, driver);
     }
 
     /**
@@ -237,7 +240,7 @@ public abstract class WebDriverChecker {
      * @return true if it's Chrome browser.
      */
     public static boolean isChrome(WebDriver... driver) {
-        return is(new Chrome(), driver);
+        return is(CHROME, driver);
     }
 
     /**
@@ -249,7 +252,7 @@ public abstract class WebDriverChecker {
      * @return true if it's Safari browser.
      */
     public static boolean isSafari(WebDriver... driver) {
-        return is(new Safari(), driver);
+        return is(SAFARI, driver);
     }
 
     /**
@@ -261,7 +264,7 @@ public abstract class WebDriverChecker {
      * @return true if it's Edge browser.
      */
     public static boolean isEdge(WebDriver... driver) {
-        return is(new Edge(), driver);
+        return is(EDGE, driver);
     }
 
     /**
@@ -273,7 +276,7 @@ public abstract class WebDriverChecker {
      * @return true if it's Firefox browser.
      */
     public static boolean isFirefox(WebDriver... driver) {
-        return is(new Firefox(), driver);
+        return is(FIREFOX, driver);
     }
 
     /**
@@ -285,7 +288,7 @@ public abstract class WebDriverChecker {
      * @return true if it's Opera browser.
      */
     public static boolean isOpera(WebDriver... driver) {
-        return is(new Opera(), driver);
+        return is(OPERA, driver);
     }
 
     /**
@@ -296,7 +299,115 @@ public abstract class WebDriverChecker {
      * @return true if it's IE browser.
      */
     public static boolean isIE(WebDriver... driver) {
-        return is(new IE(), driver);
+        return is(IE, driver);
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Get browser version of {@link WebDriver}, it's parsed once per session.
+     *
+     * @param driver The {@link WebDriver} for the first argument, and can be empty.<br>
+     *               {@link WebDriverChecker} doesn't care from the second argument onwards.
+     * @return The {@link BrowserVersion}, {@link BrowserVersion#EMPTY} if it isn't reported.
+     */
+    public static BrowserVersion browserVersion(WebDriver... driver) {
+        RemoteWebDriver wd = getDriver(driver);
+        if (!is(ALIVE, wd)) {
+            throw new CheckerException.ClosedDriver();
+        }
+        return Session.of(wd).snapshot().version();
+    }
+
+    /**
+     * Check whether browser version of {@link WebDriver} is in a range.
+     *
+     * @param range  The range, e.g. {@code >=120 <125}. See {@link BrowserVersion}.
+     * @param driver The {@link WebDriver} for the first argument, and can be empty.<br>
+     *               {@link WebDriverChecker} doesn't care from the second argument onwards.
+     * @return true if it's in the range.
+     */
+    public static boolean isBrowserVersion(String range, WebDriver... driver) {
+        BrowserVersion.Range compiled = BrowserVersion.range(range);
+        return compiled.test(browserVersion(driver));
+    }
+
+    /**
+     * Check whether {@link WebDriver} for Chrome browser in a version range.
+     * <pre>{@code boolean result = WebDriverChecker.isChrome(driver, ">=120 <125")}</pre>
+     *
+     * @param driver The {@link WebDriver}.
+     * @param range  The range of browser version. See {@link BrowserVersion}.
+     * @return true if it's Chrome browser in the range.
+     */
+    public static boolean isChrome(WebDriver driver, String range) {
+        BrowserVersion.Range compiled = BrowserVersion.range(range);
+        return isChrome(driver) && compiled.test(browserVersion(driver));
+    }
+
+    /**
+     * Check whether {@link WebDriver} for Safari browser in a version range.
+     * <pre>{@code boolean result = WebDriverChecker.isSafari(driver, ">=17")}</pre>
+     *
+     * @param driver The {@link WebDriver}.
+     * @param range  The range of browser version. See {@link BrowserVersion}.
+     * @return true if it's Safari browser in the range.
+     */
+    public static boolean isSafari(WebDriver driver, String range) {
+        BrowserVersion.Range compiled = BrowserVersion.range(range);
+        return isSafari(driver) && compiled.test(browserVersion(driver));
+    }
+
+    /**
+     * Check whether {@link WebDriver} for Edge browser in a version range.
+     * <pre>{@code boolean result = WebDriverChecker.isEdge(driver, ">=120 <125")}</pre>
+     *
+     * @param driver The {@link WebDriver}.
+     * @param range  The range of browser version. See {@link BrowserVersion}.
+     * @return true if it's Edge browser in the range.
+     */
+    public static boolean isEdge(WebDriver driver, String range) {
+        BrowserVersion.Range compiled = BrowserVersion.range(range);
+        return isEdge(driver) && compiled.test(browserVersion(driver));
+    }
+
+    /**
+     * Check whether {@link WebDriver} for Firefox browser in a version range.
+     * <pre>{@code boolean result = WebDriverChecker.isFirefox(driver, ">=128")}</pre>
+     *
+     * @param driver The {@link WebDriver}.
+     * @param range  The range of browser version. See {@link BrowserVersion}.
+     * @return true if it's Firefox browser in the range.
+     */
+    public static boolean isFirefox(WebDriver driver, String range) {
+        BrowserVersion.Range compiled = BrowserVersion.range(range);
+        return isFirefox(driver) && compiled.test(browserVersion(driver));
+    }
+
+    /**
+     * Check whether {@link WebDriver} for Opera browser in a version range.
+     * <pre>{@code boolean result = WebDriverChecker.isOpera(driver, ">=100")}</pre>
+     *
+     * @param driver The {@link WebDriver}.
+     * @param range  The range of browser version. See {@link BrowserVersion}.
+     * @return true if it's Opera browser in the range.
+     */
+    public static boolean isOpera(WebDriver driver, String range) {
+        BrowserVersion.Range compiled = BrowserVersion.range(range);
+        return isOpera(driver) && compiled.test(browserVersion(driver));
+    }
+
+    /**
+     * Check whether {@link WebDriver} for IE browser in a version range.
+     * <pre>{@code boolean result = WebDriverChecker.isIE(driver, "=11")}</pre>
+     *
+     * @param driver The {@link WebDriver}.
+     * @param range  The range of browser version. See {@link BrowserVersion}.
+     * @return true if it's IE browser in the range.
+     */
+    public static boolean isIE(WebDriver driver, String range) {
+        BrowserVersion.Range compiled = BrowserVersion.range(range);
+        return isIE(driver) && compiled.test(browserVersion(driver));
     }
 
     /**
@@ -307,7 +418,7 @@ public abstract class WebDriverChecker {
      * @return true if it's a browser on macOS, Linux or Windows.
      */
     public static boolean isPCBrowser(WebDriver... driver) {
-        return is(new PCBrowser(), driver);
+        return is(PC_BROWSER, driver);
     }
 
     /**
@@ -318,7 +429,7 @@ public abstract class WebDriverChecker {
      * @return true if it's a native app on macOS or Windows.
      */
     public static boolean isPCNative(WebDriver... driver) {
-        return is(new PCNative(), driver);
+        return is(PC_NATIVE, driver);
     }
 
     /**
@@ -329,7 +440,7 @@ public abstract class WebDriverChecker {
      * @return true if it's a native app on macOS.
      */
     public static boolean isMacOSNative(WebDriver... driver) {
-        return is(new MacOSNative(), driver);
+        return is(MACOS_NATIVE, driver);
     }
 
     /**
@@ -340,7 +451,7 @@ public abstract class WebDriverChecker {
      * @return true if it's a native app on Windows.
      */
     public static boolean isWindowsNative(WebDriver... driver) {
-        return is(new WindowsNative(), driver);
+        return is(WINDOWS_NATIVE, driver);
     }
 
     /**
@@ -351,7 +462,7 @@ public abstract class WebDriverChecker {
      * @return true if it's connecting to a local server.
      */
     public static boolean isLocalServer(WebDriver... driver) {
-        return is(new LocalServer(), driver);
+        return is(LOCAL_SERVER, driver);
     }
 
     /**
@@ -362,7 +473,7 @@ public abstract class WebDriverChecker {
      * @return true if it's connecting to a remote server.
      */
     public static boolean isRemoteServer(WebDriver... driver) {
-        return is(new RemoteServer(), driver);
+        return is(REMOTE_SERVER, driver);
     }
 
     /**
@@ -373,7 +484,7 @@ public abstract class WebDriverChecker {
      * @return true if it's a browser on iOS.
      */
     public static boolean isIOSBrowser(WebDriver... driver) {
-        return is(new IOSBrowser(), driver);
+        return is(IOS_BROWSER, driver);
     }
 
     /**
@@ -384,7 +495,7 @@ public abstract class WebDriverChecker {
      * @return true if it's a native app on iOS.
      */
     public static boolean isIOSNative(WebDriver... driver) {
-        return is(new IOSNative(), driver);
+        return is(IOS_NATIVE, driver);
     }
 
     /**
@@ -395,7 +506,7 @@ public abstract class WebDriverChecker {
      * @return true if it's running on iOS virtual device.
      */
     public static boolean isIOSVirtual(WebDriver... driver) {
-        return is(new IOSVirtual(), driver);
+        return is(IOS_VIRTUAL, driver);
     }
 
     /**
@@ -406,7 +517,7 @@ public abstract class WebDriverChecker {
      * @return true if it's a browser on Android.
      */
     public static boolean isAndroidBrowser(WebDriver... driver) {
-        return is(new AndroidBrowser(), driver);
+        return is(ANDROID_BROWSER, driver);
     }
 
     /**
@@ -417,7 +528,7 @@ public abstract class WebDriverChecker {
      * @return true if it's a native app on Android.
      */
     public static boolean isAndroidNative(WebDriver... driver) {
-        return is(new AndroidNative(), driver);
+        return is(ANDROID_NATIVE, driver);
     }
 
     /**
@@ -428,7 +539,7 @@ public abstract class WebDriverChecker {
      * @return true if it's running on Android virtual device.
      */
     public static boolean isAndroidVirtual(WebDriver... driver) {
-        return is(new AndroidVirtual(), driver);
+        return is(ANDROID_VIRTUAL, driver);
     }
 
     /**
@@ -439,7 +550,7 @@ public abstract class WebDriverChecker {
      * @return true if it's a browser on iOS or Android.
      */
     public static boolean isMobileBrowser(WebDriver... driver) {
-        return is(new MobileBrowser(), driver);
+        return is(MOBILE_BROWSER, driver);
     }
 
     /**
@@ -450,7 +561,7 @@ public abstract class WebDriverChecker {
      * @return true if it's a native app on iOS or Android.
      */
     public static boolean isMobileNative(WebDriver... driver) {
-        return is(new MobileNative(), driver);
+        return is(MOBILE_NATIVE, driver);
     }
 
     /**
@@ -461,7 +572,7 @@ public abstract class WebDriverChecker {
      * @return true if it's running on mobile virtual device.
      */
     public static boolean isMobileVirtual(WebDriver... driver) {
-        return is(new MobileVirtual(), driver);
+        return is(MOBILE_VIRTUAL, driver);
     }
 
     /**
@@ -472,7 +583,7 @@ public abstract class WebDriverChecker {
      * @return true if it's running on LambdaTest.
      */
     public static boolean isLambdaTest(WebDriver... driver) {
-        return is(new LambdaTest(), driver);
+        return is(LAMBDATEST, driver);
     }
 
     /**
@@ -483,7 +594,7 @@ public abstract class WebDriverChecker {
      * @return true if it's running on BrowserStack.
      */
     public static boolean isBrowserStack(WebDriver... driver) {
-        return is(new BrowserStack(), driver);
+        return is(BROWSERSTACK, driver);
     }
 
     /**
@@ -494,7 +605,7 @@ public abstract class WebDriverChecker {
      * @return true if it's running on SauceLabs.
      */
     public static boolean isSauceLabs(WebDriver... driver) {
-        return is(new SauceLabs(), driver);
+        return is(SAUCELABS, driver);
     }
 
     //-------------------------------------------------------------------------------//
@@ -507,9 +618,148 @@ public abstract class WebDriverChecker {
      * @return true if it's running on TestingBot.
      */
     public static boolean isTestingBot(WebDriver... driver) {
-        return is(new TestingBot(), driver);
+        return is(TESTINGBOT, driver);
+    }
+
+    /**
+     * Check whether {@link WebDriver} is running on a cloud vendor, includes vendors are added by
+     * {@link CloudVendor#register(String, String...)}.
+     *
+     * @param vendor The {@link CloudVendor}.
+     * @param driver The {@link WebDriver} for the first argument, and can be empty.<br>
+     *               {@link WebDriverChecker} doesn't care from the second argument onwards.
+     * @return true if it's running on the vendor.
+     */
+    public static boolean isCloud(CloudVendor vendor, WebDriver... driver) {
+        return is(new Cloud(vendor), driver);
+    }
+
+    /**
+     * Get the profile of {@link WebDriver} with every verdict of {@link WebDriverChecker}.<br>
+     * Verdicts are computed in one pass: the alive check and capability reads happen once,
+     * and external probes (Docker, virtual devices) run at most once for the session.
+     *
+     * @param driver The {@link WebDriver} for the first argument, and can be empty.<br>
+     *               {@link WebDriverChecker} doesn't care from the second argument onwards.
+     * @return The {@link DriverProfile}.
+     */
+    public static DriverProfile profile(WebDriver... driver) {
+        RemoteWebDriver wd = getDriver(driver);
+        if (!is(ALIVE, wd)) {
+            throw new CheckerException.ClosedDriver();
+        }
+
+        long verdicts = 0;
+        Session session = Session.of(wd);
+
+        for (Check verdict : Check.values()) {
+            WebDriverChecker wdc = CheckerType.of(verdict);
+            if (session.verdict(verdict, () -> wdc.check(wd))) {
+                verdicts |= verdict.bit();
+            }
+        }
+        return new DriverProfile(session.snapshot(), verdicts);
+    }
+
+    /**
+     * Get the profile of capabilities without a session, e.g. to route or skip a test before a session is started.<br>
+     * Platform, browser and native app verdicts are read from capabilities, with no driver, network call or process.
+     * Verdicts which need the server or the machine are unknown and read as false, see {@link DriverProfile#isKnown(Check)}.
+     *
+     * @param capabilities The {@link Capabilities} of a {@code newSession} request or response.
+     * @return The {@link DriverProfile}.
+     */
+    public static DriverProfile of(Capabilities capabilities) {
+        return Offline.profile(capabilities);
+    }
+
+    /**
+     * Get the profile of W3C capabilities in JSON without a session, same as {@link #of(Capabilities)}.
+     *
+     * @param json A capabilities object, a {@code newSession} request with {@code alwaysMatch} and {@code firstMatch},
+     *             or a {@code newSession} response.
+     * @return The {@link DriverProfile}.
+     * @throws CheckerException if the JSON is invalid.
+     */
+    public static DriverProfile ofJson(String json) {
+        return Offline.profile(json);
+    }
+
+    /**
+     * Check whether {@link WebDriver} passes all checks of a set, and none of another set.<br>
+     * Checks are evaluated in one pass: the alive check and capability reads happen once,
+     * verdicts are memoized per session, cheaper checks go first, and evaluation stops at the first mismatch.
+     * <pre>{@code boolean result = WebDriverChecker.matches(driver, EnumSet.of(Check.ANDROID, Check.NATIVE), EnumSet.of(Check.ANDROID_VIRTUAL))}</pre>
+     *
+     * @param driver The {@link WebDriver}.
+     * @param all    The checks must be true.
+     * @param none   The checks must be false.
+     * @return true if it matches both sets.
+     */
+    public static boolean matches(WebDriver driver, EnumSet<Check> all, EnumSet<Check> none) {
+        return matches(all, none, getDriver(driver));
     }
 
+    /**
+     * Check whether the {@link WebDriver} of {@link WebDriverProvider} passes all checks of a set, and none of another set.
+     *
+     * @param all  The checks must be true.
+     * @param none The checks must be false.
+     * @return true if it matches both sets.
+     * @see #matches(WebDriver, EnumSet, EnumSet)
+     */
+    public static boolean matches(EnumSet<Check> all, EnumSet<Check> none) {
+        return matches(all, none, getDriver());
+    }
+
+    /**
+     * Get the order which {@link #matches(WebDriver, EnumSet, EnumSet)} evaluates checks in, for debugging.
+     *
+     * @param all  The checks must be true.
+     * @param none The checks must be false.
+     * @return The {@link Plan}.
+     */
+    public static Plan plan(EnumSet<Check> all, EnumSet<Check> none) {
+        return Plan.of(all, none);
+    }
+
+    /**
+     * Run a check for many {@link WebDriver} sessions concurrently.<br>
+     * At most {@code wdc.parallelism} sessions are checked at a time, the default is {@code 16}.
+     * <pre>{@code Map<SessionId, Boolean> result = WebDriverChecker.checkAll(drivers, WebDriverChecker::isChrome)}</pre>
+     *
+     * @param drivers The {@link WebDriver} sessions.
+     * @param check   The check to run, e.g. {@code WebDriverChecker::isChrome}.
+     * @return Results keyed by {@link SessionId}, in the order of the drivers.
+     */
+    public static Map<SessionId, Boolean> checkAll(Collection<? extends WebDriver> drivers, Predicate<WebDriver> check) {
+        return FanOut.run(drivers, FanOut.PARALLELISM, check::test);
+    }
+
+    /**
+     * Evaluate all checks for many {@link WebDriver} sessions concurrently.<br>
+     * At most {@code wdc.parallelism} sessions are profiled at a time, the default is {@code 16}.
+     *
+     * @param drivers The {@link WebDriver} sessions.
+     * @return {@link DriverProfile} keyed by {@link SessionId}, in the order of the drivers.
+     */
+    public static Map<SessionId, DriverProfile> profileAll(Collection<? extends WebDriver> drivers) {
+        return FanOut.run(drivers, FanOut.PARALLELISM, WebDriverChecker::profile);
+    }
+
+    /**
+     * Use a {@link WebDriverProvider} for checks which don't pass a {@link WebDriver}.<br>
+     * It overrides providers discovered via {@code META-INF/services}.
+     *
+     * @param provider The {@link WebDriverProvider} to use,
+     *                 or {@code null} to go back to discovered providers.
+     */
+    public static void useProvider(WebDriverProvider provider) {
+        Providers.register(provider);
+    }
+
+    //-------------------------------------------------------------------------------//
+
     /**
      * Run a Shell command.
      *
@@ -518,24 +768,25 @@ public abstract class WebDriverChecker {
      */
     protected static String[] runShell(String command) {
         try {
-            String os = Property.ofString("os.name").getValue();
-            String[] commandArgs = os.contains("Windows")
-                    ? new String[]{"cmd.exe", "/c", command}
-                    : new String[]{"bash", "-c", command};
-            Process process = new ProcessBuilder(commandArgs)
-                    .directory(new File("."))
-                    .redirectErrorStream(false)
-                    .start();
-            process.waitFor();
-
-            InputStream is = process.getInputStream();
-            InputStreamReader isr = new InputStreamReader(is, UTF_8);
-            return CharStreams.toString(isr).split("\r?\n|\r");
+            return runShell(command, Shell.TIMEOUT).join();
         } catch (Exception e) {
             return new String[]{};
         }
     }
 
+    /**
+     * Run a Shell command asynchronously.<br>
+     * Stdout and stderr are streamed concurrently, and the command is killed with its child processes
+     * when it exceeds the deadline.
+     *
+     * @param command The command to run.
+     * @param timeout The deadline of the command.
+     * @return A {@link CompletableFuture} of lines of the result are in print at the terminal.
+     */
+    protected static CompletableFuture<String[]> runShell(String command, Duration timeout) {
+        return Shell.run(command, timeout).thenApply(Shell.Result::output);
+    }
+
     /**
      * Get the current {@link WebDriver}.
      *
@@ -550,17 +801,13 @@ public abstract class WebDriverChecker {
             }
             throw new CheckerException.NullDriverPassed();
         } else {
-            ServiceLoader<WebDriverProvider> serviceLoader = ServiceLoader.load(WebDriverProvider.class);
-            Iterator<WebDriverProvider> serviceLoaders = serviceLoader.iterator();
-
-            if (serviceLoaders.hasNext()) {
-                WebDriverProvider provider = serviceLoaders.next();
-                WebDriver driver = provider.provide();
+            if (Providers.exist()) {
+                WebDriver driver = Providers.provide();
 
                 if (driver == null) {
                     throw new CheckerException.NullDriverProvided();
                 }
-                if (!(is(new Alive(true), driver))) {
+                if (!(is(ALIVE_DIRECTED, driver))) {
                     throw new CheckerException.ClosedDriverProvided();
                 }
                 return (RemoteWebDriver) driver;
@@ -579,11 +826,59 @@ public abstract class WebDriverChecker {
      * @return Boolean result.
      */
     protected static boolean is(WebDriverChecker wdc, WebDriver... args) {
-        if (!(wdc instanceof Alive)) {
-            if (!is(new Alive(), args)) {
-                throw new CheckerException.ClosedDriver();
+        long start = Metrics.start();
+        Events.Check event = new Events.Check();
+        event.begin();
+        try {
+            boolean result = evaluate(wdc, event, args);
+            event.result = result;
+            Metrics.checker(wdc.getClass()).record(start);
+            return result;
+        } catch (RuntimeException | Error e) {
+            Metrics.checker(wdc.getClass()).fail(start);
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.checker = Metrics.name(wdc.getClass());
+                event.commit();
+            }
+        }
+    }
+
+    private static boolean evaluate(WebDriverChecker wdc, Events.Check event, WebDriver... args) {
+        if (wdc instanceof Alive) {
+            return check(wdc, args);
+        }
+
+        RemoteWebDriver driver = getDriver(args);
+        if (!is(ALIVE, driver)) {
+            throw new CheckerException.ClosedDriver();
+        }
+        if (event.isEnabled()) {
+            event.sessionId = String.valueOf(driver.getSessionId());
+        }
+
+        Check verdict = wdc.verdict();
+        if (verdict != null) {
+            Session session = Session.of(driver);
+            if (event.isEnabled()) {
+                event.cached = session.known(verdict);
             }
+            return session.verdict(verdict, () -> wdc.check(driver));
         }
+        return wdc.check(driver);
+    }
+
+    private static boolean matches(EnumSet<Check> all, EnumSet<Check> none, RemoteWebDriver driver) {
+        if (!is(ALIVE, driver)) {
+            throw new CheckerException.ClosedDriver();
+        }
+
+        return Plan.of(all, none).test(driver);
+    }
+
+    private static boolean check(WebDriverChecker wdc, WebDriver... args) {
         if (args.length == 0) {
             return wdc.check();
         } else {
@@ -599,22 +894,7 @@ public abstract class WebDriverChecker {
      * @return Platform name.
      */
     protected String getPlatformName(WebDriver... driver) {
-        String value = getCapability("platformName", driver).toUpperCase();
-        Platform platform = Platform.valueOf(value);
-
-        if (platform.equals(Platform.ANY)) {
-            value = getCapability("platform", driver);
-            try {
-                platform = Platform.valueOf(value);
-            } catch (IllegalArgumentException ignored) {
-                platform = Platform.fromString(value);
-            }
-        }
-
-        if (platform.family() != null && !platform.equals(Platform.LINUX)) {
-            platform = platform.family();
-        }
-        return platform.name().toLowerCase();
+        return snapshot(driver).platform();
     }
 
     /**
@@ -625,8 +905,7 @@ public abstract class WebDriverChecker {
      * @return Browser name.
      */
     protected String getBrowserName(WebDriver... driver) {
-        String value = getCapability("browserName", driver);
-        return value.replaceAll("\\s+", "").toLowerCase();
+        return snapshot(driver).browserName();
     }
 
     /**
@@ -637,14 +916,7 @@ public abstract class WebDriverChecker {
      * @return Browser version.
      */
     protected double getBrowserVersion(WebDriver... driver) {
-        String value = getCapability("browserVersion", driver);
-        if (value.isEmpty()) {
-            value = getCapability("version", driver);
-        }
-        if (value.isEmpty()) {
-            return 0;
-        }
-        return Double.parseDouble(value.split("\\.")[0]);
+        return snapshot(driver).version().getMajor();
     }
 
     /**
@@ -655,8 +927,7 @@ public abstract class WebDriverChecker {
      * @return App name or path.
      */
     protected String getApp(WebDriver... driver) {
-        String value = getCapability("app", driver);
-        return value.toLowerCase();
+        return snapshot(driver).app();
     }
 
     /**
@@ -667,8 +938,7 @@ public abstract class WebDriverChecker {
      * @return App package.
      */
     protected String getAppPackage(WebDriver... driver) {
-        String value = getCapability("appPackage", driver);
-        return value.toLowerCase();
+        return snapshot(driver).appPackage();
     }
 
     /**
@@ -679,13 +949,7 @@ public abstract class WebDriverChecker {
      * @return Device ID.
      */
     protected String getDeviceId(WebDriver... driver) {
-        if (is(new IOS(), driver)) {
-            return getCapability("appium:udid", driver);
-        }
-        if (is(new Android(), driver)) {
-            return getCapability("appium:deviceUDID", driver);
-        }
-        return "";
+        return snapshot(driver).deviceId();
     }
 
     /**
@@ -696,11 +960,11 @@ public abstract class WebDriverChecker {
      * @return Server URL.
      */
     protected URL getServerURL(WebDriver... driver) {
-        CommandExecutor ce = getDriver(driver).getCommandExecutor();
-        if (ce instanceof TracedCommandExecutor) {
-            ce = Commons.readField(ce, "delegate");
+        URL serverURL = snapshot(driver).serverURL();
+        if (serverURL != null) {
+            return serverURL;
         }
-        return Commons.readField(ce, "remoteServer");
+        return Accessors.serverURL(getDriver(driver).getCommandExecutor());
     }
 
     /**
@@ -724,8 +988,19 @@ public abstract class WebDriverChecker {
      * @return {@link Capabilities} object.
      */
     protected Capabilities getCapabilities(WebDriver... driver) {
-        WebDriver wd = getDriver(driver);
-        return ((HasCapabilities) wd).getCapabilities();
+        return snapshot(driver).capabilities();
+    }
+
+    /**
+     * Get {@link Snapshot} of the session which {@link WebDriver} is running.
+     * It's built once per session and reused until the session is quit.
+     *
+     * @param driver The {@link WebDriver} for the first argument, and can be empty.<br>
+     *               {@link WebDriverChecker} doesn't care from the second argument onwards.
+     * @return {@link Snapshot} object.
+     */
+    Snapshot snapshot(WebDriver... driver) {
+        return Session.of(getDriver(driver)).snapshot();
     }
 
     /**
@@ -736,8 +1011,7 @@ public abstract class WebDriverChecker {
      * @return {@link CommandCodec} object.
      */
     protected CommandCodec<HttpRequest> getCommandCodec(WebDriver... driver) {
-        CommandExecutor ce = getDriver(driver).getCommandExecutor();
-        return Commons.readField(ce, "commandCodec");
+        return Accessors.commandCodec(getDriver(driver).getCommandExecutor());
     }
 
     /**
@@ -750,15 +1024,55 @@ public abstract class WebDriverChecker {
      * @return {@link Response} object.
      */
     protected Response runCommand(Command command, CommandInfo info, WebDriver... driver) {
-        String url = Commons.readField(info, "url");
-        HttpMethod method = Commons.readField(info, "method");
-        getCommandCodec(driver).defineCommand(command.getName(), method, url);
+        Commands.define(getCommandCodec(driver), command.getName(), info);
 
+        long start = Metrics.start();
+        Events.Command event = new Events.Command();
+        event.begin();
         try {
-            return getDriver(driver).getCommandExecutor().execute(command);
+            Response response = getDriver(driver).getCommandExecutor().execute(command);
+            Metrics.COMMAND.record(start);
+            return response;
         } catch (IOException e) {
+            Metrics.COMMAND.fail(start);
+            event.failed = true;
             throw new RuntimeException(e);
+        } catch (RuntimeException e) {
+            Metrics.COMMAND.fail(start);
+            event.failed = true;
+            throw e;
+        } finally {
+            Commands.commit(event, command);
+        }
+    }
+
+    /**
+     * Run Selenium commands concurrently.<br>
+     * Each command is defined on the codec once, then all of them are sent to the server without waiting for each other.
+     *
+     * @param commands {@link Command} to send to the server, and {@link CommandInfo} to provide its URL and {@link HttpMethod}.
+     *                 Names of commands must be unique in a batch.
+     * @param driver   The {@link WebDriver} for the first argument, and can be empty.<br>
+     *                 {@link WebDriverChecker} doesn't care from the second argument onwards.
+     * @return {@link Response} of each {@link Command}, in the order of the commands.
+     */
+    protected Map<Command, Response> runCommands(Map<Command, CommandInfo> commands, WebDriver... driver) {
+        RemoteWebDriver wd = getDriver(driver);
+        CommandCodec<HttpRequest> codec = getCommandCodec(wd);
+        for (Map.Entry<Command, CommandInfo> entry : commands.entrySet()) {
+            Commands.define(codec, entry.getKey().getName(), entry.getValue());
+        }
+
+        Map<Command, CompletableFuture<Response>> futures = new LinkedHashMap<>();
+        for (Command command : commands.keySet()) {
+            futures.put(command, Commands.dispatch(wd.getCommandExecutor(), command));
+        }
+
+        Map<Command, Response> responses = new LinkedHashMap<>();
+        for (Map.Entry<Command, CompletableFuture<Response>> entry : futures.entrySet()) {
+            responses.put(entry.getKey(), Commands.await(entry.getValue()));
         }
+        return responses;
     }
 
     //-------------------------------------------------------------------------------//
@@ -771,4 +1085,13 @@ public abstract class WebDriverChecker {
      * @return A {@link Boolean} result.
      */
     protected abstract boolean check(WebDriver... driver);
+
+    /**
+     * Get the slot in the per-session verdict table which memoizes this checker.
+     *
+     * @return The {@link Check}, or {@code null} if the result mustn't be memoized.
+     */
+    Check verdict() {
+        return null;
+    }
 }
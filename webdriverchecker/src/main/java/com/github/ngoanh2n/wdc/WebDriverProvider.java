@@ -35,6 +35,9 @@ import org.openqa.selenium.WebDriver;
  *          </ol>
  *      </li>
  * </ol>
+ * Or register it from code: {@code WebDriverChecker.useProvider(new MyWebDriverProvider())}.<br>
+ * When several providers are on the classpath, pick one with system property {@code wdc.provider}
+ * or let {@link #priority()} decide.<br><br>
  *
  * <em>Repository:</em>
  * <ul>
@@ -52,4 +55,15 @@ public interface WebDriverProvider {
      * @return The {@link WebDriver} instance you have set up.
      */
     WebDriver provide();
+
+    /**
+     * Priority of this provider when more than one is on the classpath.<br>
+     * Providers are asked in descending priority order (then by class name),
+     * the first {@link WebDriver} which isn't {@code null} is used.
+     *
+     * @return The priority, {@code 0} by default.
+     */
+    default int priority() {
+        return 0;
+    }
 }
@@ -0,0 +1,80 @@
+package com.github.ngoanh2n.wdc;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.remote.*;
+import org.openqa.selenium.remote.http.HttpMethod;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.List;
+
+/**
+ * @author ngoanh2n
+ */
+public class AccessorsTest {
+    @Test
+    void serverURL() throws Exception {
+        URL url = new URL("http://192.0.2.10:4444");
+        HttpCommandExecutor http = new HttpCommandExecutor(url);
+
+        Assertions.assertEquals(url, Accessors.serverURL(http));
+        Assertions.assertEquals(url, Accessors.serverURL(new Decorator(http)));
+        Assertions.assertEquals(url, Accessors.serverURL(new Decorator(new Decorator(new Decorator(http)))));
+    }
+
+    @Test
+    void commandCodec() throws Exception {
+        HttpCommandExecutor http = new HttpCommandExecutor(new URL("http://192.0.2.10:4444"));
+
+        Assertions.assertNull(Accessors.commandCodec(new Decorator(http)));
+    }
+
+    @Test
+    void commandInfo() {
+        CommandInfo info = new CommandInfo("/session/:sessionId/timeouts", HttpMethod.GET);
+
+        Assertions.assertEquals("/session/:sessionId/timeouts", Accessors.url(info));
+        Assertions.assertEquals(HttpMethod.GET, Accessors.method(info));
+    }
+
+    @Test
+    void unsupported() {
+        CommandExecutor bare = command -> new Response();
+
+        Assertions.assertThrows(CheckerException.UnsupportedSelenium.class, () -> Accessors.serverURL(bare));
+        Assertions.assertThrows(CheckerException.UnsupportedSelenium.class, () -> Accessors.serverURL(new Decorator(bare)));
+        Assertions.assertThrows(CheckerException.UnsupportedSelenium.class, () -> Accessors.serverURL(new Decorator(null)));
+    }
+
+    @Test
+    void resolvedAtOnce() {
+        Assertions.assertEquals(List.of(), Accessors.resolve(HttpCommandExecutor.class, CommandInfo.class));
+        Assertions.assertDoesNotThrow(Accessors::verify);
+
+        List<String> missing = Accessors.resolve(Decorator.class, Object.class);
+        Assertions.assertEquals(List.of(
+                Decorator.class.getName() + ".remoteServer",
+                Decorator.class.getName() + ".commandCodec",
+                "java.lang.Object.url",
+                "java.lang.Object.method"), missing);
+
+        String message = new CheckerException.UnsupportedSelenium(missing).getMessage();
+        for (String field : missing) {
+            Assertions.assertTrue(message.contains(field), message);
+        }
+    }
+
+    private static final class Decorator implements CommandExecutor {
+        private final CommandExecutor delegate;
+
+        private Decorator(CommandExecutor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Response execute(Command command) throws IOException {
+            return delegate.execute(command);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.github.ngoanh2n.wdc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * @author ngoanh2n
+ */
+public class AdbTest {
+    private static final String DEVICES = "" +
+            "emulator-5554          device product:sdk_gphone64 model:sdk_gphone64 device:emu64 transport_id:1\n" +
+            "R58M123ABC             device usb:1-1 product:beyond1 model:SM_G973F device:beyond1 transport_id:2\n" +
+            "emulator-5556          offline transport_id:3\n";
+    private final BlockingQueue<String> services = new LinkedBlockingQueue<>();
+    private ServerSocket server;
+    private Adb adb;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        adb = new Adb(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getLocalPort()));
+    }
+
+    @Test
+    void devices() throws Exception {
+        serve(os -> {
+            os.write("OKAY".getBytes(UTF_8));
+            write(os, DEVICES);
+        });
+
+        Assertions.assertEquals(Set.of("emulator-5554", "R58M123ABC", "emulator-5556"), adb.devices());
+        Assertions.assertEquals("host:devices-l", services.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void emulators() {
+        serve(os -> {
+            os.write("OKAY".getBytes(UTF_8));
+            write(os, DEVICES);
+        });
+
+        Assertions.assertEquals(Set.of("emulator-5554", "emulator-5556"), adb.emulators());
+    }
+
+    @Test
+    void port() {
+        Assertions.assertEquals(5037, Adb.port(null));
+        Assertions.assertEquals(5037, Adb.port(" "));
+        Assertions.assertEquals(5038, Adb.port(" 5038 "));
+        Assertions.assertEquals(5037, Adb.port("adb"));
+        Assertions.assertEquals(5037, Adb.port("0"));
+        Assertions.assertEquals(5037, Adb.port("65536"));
+        Assertions.assertEquals(5037, Adb.port("99999999999"));
+    }
+
+    @Test
+    void refused() {
+        serve(os -> {
+            os.write("FAIL".getBytes(UTF_8));
+            write(os, "unknown host service");
+        });
+
+        Assertions.assertThrows(UncheckedIOException.class, () -> adb.devices());
+    }
+
+    @Test
+    void track() throws Exception {
+        CountDownLatch update = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        serve(os -> {
+            os.write("OKAY".getBytes(UTF_8));
+            write(os, "emulator-5554\tdevice transport_id:1\n");
+            await(update);
+            write(os, "emulator-5554\tdevice transport_id:1\nemulator-5556\tdevice transport_id:2\n");
+            await(done);
+        });
+
+        Assertions.assertTrue(adb.track());
+        Assertions.assertEquals("host:track-devices-l", services.poll(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(Set.of("emulator-5554"), awaitEmulators(1));
+
+        update.countDown();
+        Assertions.assertEquals(Set.of("emulator-5554", "emulator-5556"), awaitEmulators(2));
+        Assertions.assertTrue(adb.isTracking());
+
+        done.countDown();
+        server.close();
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        server.close();
+    }
+
+    private Set<String> awaitEmulators(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            if (adb.isTracking() && adb.emulators().size() == count) {
+                return adb.emulators();
+            }
+            Thread.sleep(10);
+        }
+        return adb.isTracking() ? adb.emulators() : Set.of();
+    }
+
+    private void serve(Responder responder) {
+        Thread thread = new Thread(() -> {
+            try (Socket socket = server.accept()) {
+                InputStream is = socket.getInputStream();
+                int length = Integer.parseInt(new String(is.readNBytes(4), UTF_8), 16);
+                services.add(new String(is.readNBytes(length), UTF_8));
+                responder.respond(socket.getOutputStream());
+            } catch (IOException ignored) {
+                // Server is closed
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static void write(OutputStream os, String payload) throws IOException {
+        byte[] bytes = payload.getBytes(UTF_8);
+        os.write(String.format("%04x", bytes.length).getBytes(UTF_8));
+        os.write(bytes);
+        os.flush();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private interface Responder {
+        void respond(OutputStream os) throws IOException;
+    }
+}
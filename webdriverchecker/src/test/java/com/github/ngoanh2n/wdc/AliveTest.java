@@ -0,0 +1,65 @@
+package com.github.ngoanh2n.wdc;
+
+import com.github.ngoanh2n.wdc.driver.StubDriverProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author ngoanh2n
+ */
+public class AliveTest {
+    @Test
+    void pingedOncePerTtl() {
+        RemoteWebDriver driver = StubDriverProvider.createDriver("http://localhost:4444", Map.of("browserName", "chrome"));
+        AtomicInteger pings = new AtomicInteger();
+        CheckerType.Alive alive = new CheckerType.Alive(false, true, TimeUnit.HOURS.toNanos(1)) {
+            @Override
+            boolean ping(RemoteWebDriver wd) {
+                pings.incrementAndGet();
+                return true;
+            }
+        };
+        try {
+            for (int i = 0; i < 10; i++) {
+                Assertions.assertTrue(alive.check(driver));
+            }
+            Assertions.assertEquals(1, pings.get());
+        } finally {
+            driver.quit();
+        }
+    }
+
+    @Test
+    void evictedOnFailedPing() {
+        RemoteWebDriver driver = StubDriverProvider.createDriver("http://localhost:4444", Map.of("browserName", "chrome"));
+        AtomicBoolean up = new AtomicBoolean(true);
+        AtomicInteger pings = new AtomicInteger();
+        CheckerType.Alive alive = new CheckerType.Alive(true, true, 0) {
+            @Override
+            boolean ping(RemoteWebDriver wd) {
+                pings.incrementAndGet();
+                return up.get();
+            }
+        };
+        try {
+            Session session = Session.of(driver);
+            Assertions.assertTrue(alive.check(driver));
+            Assertions.assertTrue(alive.check(driver));
+            Assertions.assertEquals(2, pings.get());
+            Assertions.assertTrue(Session.contains(driver.getSessionId()));
+
+            up.set(false);
+            Assertions.assertFalse(alive.check(driver));
+            Assertions.assertFalse(Session.contains(driver.getSessionId()));
+            Assertions.assertNotSame(session, Session.of(driver));
+        } finally {
+            driver.quit();
+        }
+    }
+}
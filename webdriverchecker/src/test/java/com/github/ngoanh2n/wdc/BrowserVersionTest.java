@@ -0,0 +1,130 @@
+package com.github.ngoanh2n.wdc;
+
+import com.github.ngoanh2n.wdc.driver.StubDriverProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * @author ngoanh2n
+ */
+public class BrowserVersionTest {
+    @Test
+    void parse() {
+        BrowserVersion version = BrowserVersion.parse("124.0.6367.91");
+        Assertions.assertTrue(version.isNumeric());
+        Assertions.assertEquals(124, version.getMajor());
+        Assertions.assertEquals(0, version.getMinor());
+        Assertions.assertEquals(6367, version.getBuild());
+        Assertions.assertEquals(91, version.getPatch());
+        Assertions.assertEquals("", version.getChannel());
+
+        BrowserVersion beta = BrowserVersion.parse("128.0b3");
+        Assertions.assertEquals(128, beta.getMajor());
+        Assertions.assertEquals("b3", beta.getChannel());
+
+        BrowserVersion latest = BrowserVersion.parse("Latest");
+        Assertions.assertFalse(latest.isNumeric());
+        Assertions.assertEquals(0, latest.getMajor());
+        Assertions.assertEquals("latest", latest.getChannel());
+
+        Assertions.assertSame(BrowserVersion.EMPTY, BrowserVersion.parse(null));
+        Assertions.assertSame(BrowserVersion.EMPTY, BrowserVersion.parse(" "));
+    }
+
+    @Test
+    void compare() {
+        Assertions.assertTrue(BrowserVersion.parse("124.0.6367.91").compareTo(BrowserVersion.parse("124.0.6367.201")) < 0);
+        Assertions.assertTrue(BrowserVersion.parse("125").compareTo(BrowserVersion.parse("124.9")) > 0);
+        Assertions.assertTrue(BrowserVersion.parse("latest").compareTo(BrowserVersion.parse("0")) < 0);
+        Assertions.assertTrue(BrowserVersion.parse("128.0b3").compareTo(BrowserVersion.parse("128.0")) < 0);
+        Assertions.assertTrue(BrowserVersion.parse("latest").compareTo(BrowserVersion.parse("stable")) < 0);
+    }
+
+    @Test
+    void equality() {
+        BrowserVersion shortForm = BrowserVersion.parse("120.0");
+        BrowserVersion longForm = BrowserVersion.parse("120.0.0");
+        Assertions.assertEquals(0, shortForm.compareTo(longForm));
+        Assertions.assertEquals(shortForm, longForm);
+        Assertions.assertEquals(shortForm.hashCode(), longForm.hashCode());
+        Assertions.assertEquals(BrowserVersion.parse("120"), BrowserVersion.parse("120.0.0.0"));
+        Assertions.assertEquals(BrowserVersion.parse("Latest"), BrowserVersion.parse("latest"));
+        Assertions.assertEquals("120.0", shortForm.toString());
+
+        Assertions.assertNotEquals(BrowserVersion.parse("128.0b3"), BrowserVersion.parse("128.0"));
+        Assertions.assertNotEquals(BrowserVersion.parse("latest"), BrowserVersion.parse("stable"));
+        Assertions.assertNotEquals(BrowserVersion.parse("0"), BrowserVersion.EMPTY);
+        Assertions.assertEquals(1, new TreeSet<>(List.of(shortForm, longForm)).size());
+    }
+
+    @Test
+    void ranges() {
+        BrowserVersion version = BrowserVersion.parse("124.0.6367.91");
+        Assertions.assertTrue(version.matches(">=120 <125"));
+        Assertions.assertTrue(version.matches("<=124"));
+        Assertions.assertTrue(version.matches("124"));
+        Assertions.assertTrue(version.matches("=124.0.6367"));
+        Assertions.assertTrue(version.matches("!=123"));
+        Assertions.assertFalse(version.matches(">124"));
+        Assertions.assertFalse(version.matches(">=125"));
+        Assertions.assertFalse(version.matches("124.1"));
+
+        BrowserVersion latest = BrowserVersion.parse("latest");
+        Assertions.assertTrue(latest.matches("latest"));
+        Assertions.assertTrue(latest.matches("!=stable"));
+        Assertions.assertFalse(latest.matches(">=1"));
+        Assertions.assertTrue(latest.matches("!=120"));
+    }
+
+    @Test
+    void compiledOnce() {
+        Assertions.assertSame(BrowserVersion.range(">=120 <125"), BrowserVersion.range(">=120 <125"));
+        Assertions.assertEquals(">=120 <125", BrowserVersion.range(">=120 <125").toString());
+    }
+
+    @Test
+    void invalid() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BrowserVersion.range(""));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BrowserVersion.range(null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BrowserVersion.range(">=latest"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BrowserVersion.range(">=120b"));
+    }
+
+    @Test
+    void bareOperator() {
+        for (String expression : List.of("> 120", "120 <", ">=", "<= 124 >", ">=120 != latest", "=>120")) {
+            IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class,
+                    () -> BrowserVersion.range(expression));
+            Assertions.assertTrue(exception.getMessage().contains(expression), exception.getMessage());
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BrowserVersion.parse("124").matches("124 <"));
+    }
+
+    @Test
+    void driver() {
+        RemoteWebDriver chrome = StubDriverProvider.createDriver("http://localhost:4444", Map.of(
+                "browserName", "chrome",
+                "browserVersion", "124.0.6367.91"));
+        RemoteWebDriver cloud = StubDriverProvider.createDriver("http://localhost:4444", Map.of(
+                "browserName", "firefox",
+                "browserVersion", "latest"));
+        try {
+            Assertions.assertEquals(124, WebDriverChecker.browserVersion(chrome).getMajor());
+            Assertions.assertTrue(WebDriverChecker.isChrome(chrome, ">=120 <125"));
+            Assertions.assertFalse(WebDriverChecker.isChrome(chrome, ">=125"));
+            Assertions.assertFalse(WebDriverChecker.isFirefox(chrome, ">=120"));
+            Assertions.assertTrue(WebDriverChecker.isBrowserVersion("124", chrome));
+
+            Assertions.assertTrue(WebDriverChecker.isFirefox(cloud, "latest"));
+            Assertions.assertFalse(WebDriverChecker.isFirefox(cloud, ">=120"));
+        } finally {
+            chrome.quit();
+            cloud.quit();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.ngoanh2n.wdc;
+
+import com.github.ngoanh2n.wdc.driver.StubDriverProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.EnumSet;
+import java.util.Map;
+
+/**
+ * @author ngoanh2n
+ */
+public class CheckTest {
+    private RemoteWebDriver driver;
+
+    @BeforeEach
+    void createDriver() {
+        driver = StubDriverProvider.createDriver("http://localhost:4444", Map.of(
+                "browserName", "chrome",
+                "platformName", "linux"));
+    }
+
+    @AfterEach
+    void quitDriver() {
+        driver.quit();
+    }
+
+    @Test
+    void everyCheckerHasCheck() {
+        for (Check check : Check.values()) {
+            Assertions.assertEquals(check, CheckerType.of(check).verdict());
+        }
+    }
+
+    @Test
+    void matches() {
+        Assertions.assertTrue(WebDriverChecker.matches(driver,
+                EnumSet.of(Check.CHROME, Check.LINUX, Check.BROWSER),
+                EnumSet.of(Check.MOBILE, Check.NATIVE)));
+        Assertions.assertFalse(WebDriverChecker.matches(driver,
+                EnumSet.of(Check.CHROME),
+                EnumSet.of(Check.LINUX)));
+        Assertions.assertTrue(WebDriverChecker.matches(driver,
+                EnumSet.noneOf(Check.class),
+                EnumSet.noneOf(Check.class)));
+    }
+
+    @Test
+    void sameAsSingleChecks() {
+        for (Check check : Check.values()) {
+            if (check == Check.DOCKER || check.name().endsWith("VIRTUAL")) {
+                continue;
+            }
+            boolean single = CheckerType.of(check).check(driver);
+            Assertions.assertEquals(single, WebDriverChecker.matches(driver, EnumSet.of(check), EnumSet.noneOf(Check.class)), check.name());
+            Assertions.assertEquals(!single, WebDriverChecker.matches(driver, EnumSet.noneOf(Check.class), EnumSet.of(check)), check.name());
+        }
+    }
+
+    @Test
+    void stopsAtFirstMismatch() {
+        Assertions.assertFalse(WebDriverChecker.matches(driver, EnumSet.of(Check.IOS), EnumSet.of(Check.DOCKER)));
+        Assertions.assertFalse(Session.of(driver).known(Check.DOCKER));
+    }
+
+    @Test
+    void profile() {
+        DriverProfile profile = WebDriverChecker.profile(driver);
+        Assertions.assertTrue(profile.is(Check.CHROME));
+        Assertions.assertFalse(profile.is(Check.SAFARI));
+    }
+}
@@ -0,0 +1,120 @@
+package com.github.ngoanh2n.wdc;
+
+import com.github.ngoanh2n.wdc.driver.StubDriverProvider;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * @author ngoanh2n
+ */
+public class CheckerTypeTest {
+    private static RemoteWebDriver linuxChrome;
+    private static RemoteWebDriver macSafari;
+    private static RemoteWebDriver androidNative;
+
+    @BeforeAll
+    static void openDrivers() {
+        linuxChrome = StubDriverProvider.createDriver("http://localhost:4444", Map.of(
+                "browserName", "chrome",
+                "platformName", "linux"));
+        macSafari = StubDriverProvider.createDriver("http://192.0.2.10:4444", Map.of(
+                "browserName", "safari",
+                "platformName", "mac"));
+        androidNative = StubDriverProvider.createDriver("http://192.0.2.10:4723", Map.of(
+                "platformName", "android",
+                "appPackage", "com.github.ngoanh2n.app"));
+    }
+
+    @Test
+    void stateless() {
+        for (Class<?> type : CheckerType.class.getDeclaredClasses()) {
+            for (Field field : type.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                Assertions.assertTrue(Modifier.isFinal(modifiers), type.getSimpleName() + "." + field.getName());
+            }
+        }
+    }
+
+    @Test
+    void shared() {
+        for (Check verdict : Check.values()) {
+            Assertions.assertSame(CheckerType.of(verdict), CheckerType.of(verdict));
+            Assertions.assertEquals(verdict, CheckerType.of(verdict).verdict());
+        }
+    }
+
+    @Test
+    void raceFree() throws Exception {
+        int threads = 64;
+        int iterations = 500;
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                results.add(executor.submit(() -> {
+                    barrier.await();
+                    for (int i = 0; i < iterations; i++) {
+                        switch ((offset + i) % 3) {
+                            case 0 -> assertLinuxChrome();
+                            case 1 -> assertMacSafari();
+                            default -> assertAndroidNative();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void assertLinuxChrome() {
+        Assertions.assertTrue(WebDriverChecker.isChrome(linuxChrome));
+        Assertions.assertTrue(WebDriverChecker.isLinux(linuxChrome));
+        Assertions.assertTrue(WebDriverChecker.isPCBrowser(linuxChrome));
+        Assertions.assertTrue(WebDriverChecker.isLocal(linuxChrome));
+        Assertions.assertFalse(WebDriverChecker.isSafari(linuxChrome));
+        Assertions.assertFalse(WebDriverChecker.isMobile(linuxChrome));
+    }
+
+    private static void assertMacSafari() {
+        Assertions.assertTrue(WebDriverChecker.isSafari(macSafari));
+        Assertions.assertTrue(WebDriverChecker.isMacOS(macSafari));
+        Assertions.assertTrue(WebDriverChecker.isRemoteServer(macSafari));
+        Assertions.assertFalse(WebDriverChecker.isLocal(macSafari));
+        Assertions.assertFalse(WebDriverChecker.isChrome(macSafari));
+        Assertions.assertFalse(WebDriverChecker.isPCNative(macSafari));
+    }
+
+    private static void assertAndroidNative() {
+        Assertions.assertTrue(WebDriverChecker.isAndroid(androidNative));
+        Assertions.assertTrue(WebDriverChecker.isAndroidNative(androidNative));
+        Assertions.assertTrue(WebDriverChecker.isMobileNative(androidNative));
+        Assertions.assertFalse(WebDriverChecker.isBrowser(androidNative));
+        Assertions.assertFalse(WebDriverChecker.isLocal(androidNative));
+        Assertions.assertFalse(WebDriverChecker.isIOS(androidNative));
+    }
+
+    @AfterAll
+    static void closeDrivers() {
+        linuxChrome.quit();
+        macSafari.quit();
+        androidNative.quit();
+    }
+}
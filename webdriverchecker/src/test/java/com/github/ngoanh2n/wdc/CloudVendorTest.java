@@ -0,0 +1,64 @@
+package com.github.ngoanh2n.wdc;
+
+import com.github.ngoanh2n.wdc.driver.StubDriverProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.net.URL;
+import java.util.Map;
+
+/**
+ * @author ngoanh2n
+ */
+public class CloudVendorTest {
+    @Test
+    void builtIn() throws Exception {
+        Assertions.assertEquals(CloudVendor.LAMBDATEST, CloudVendor.of(new URL("https://hub.lambdatest.com/wd/hub")));
+        Assertions.assertEquals(CloudVendor.LAMBDATEST, CloudVendor.of(new URL("https://mobile-hub.lambdatest.com/wd/hub")));
+        Assertions.assertEquals(CloudVendor.BROWSERSTACK, CloudVendor.of(new URL("https://hub-cloud.browserstack.com/wd/hub")));
+        Assertions.assertEquals(CloudVendor.SAUCELABS, CloudVendor.of(new URL("https://ondemand.eu-central-1.saucelabs.com/wd/hub")));
+        Assertions.assertEquals(CloudVendor.TESTINGBOT, CloudVendor.of(new URL("https://HUB.TestingBot.com/wd/hub")));
+    }
+
+    @Test
+    void unknown() throws Exception {
+        Assertions.assertNull(CloudVendor.of(new URL("http://localhost:4444")));
+        Assertions.assertNull(CloudVendor.of(new URL("https://browserstack.com.example.org/wd/hub")));
+        Assertions.assertNull(CloudVendor.of(new URL("https://notbrowserstack.com/wd/hub")));
+        Assertions.assertNull(CloudVendor.of((URL) null));
+    }
+
+    @Test
+    void register() {
+        Assertions.assertNull(CloudVendor.of("hub.grid.wdc.example"));
+
+        CloudVendor grid = CloudVendor.register("WDC Grid", "grid.wdc.example");
+        Assertions.assertEquals(grid, CloudVendor.of("hub.grid.wdc.example"));
+        Assertions.assertEquals(grid, CloudVendor.of("grid.wdc.example"));
+        Assertions.assertNull(CloudVendor.of("wdc.example"));
+
+        CloudVendor eu = CloudVendor.register("WDC Grid EU", "eu.grid.wdc.example");
+        Assertions.assertEquals(eu, CloudVendor.of("hub.eu.grid.wdc.example"));
+        Assertions.assertEquals(grid, CloudVendor.of("hub.us.grid.wdc.example"));
+
+        Assertions.assertThrows(CheckerException.class, () -> CloudVendor.register("Duplicate", ".Grid.WDC.example."));
+        Assertions.assertThrows(CheckerException.class, () -> CloudVendor.register("Empty"));
+    }
+
+    @Test
+    void isCloud() {
+        CloudVendor vendor = CloudVendor.register("WDC Cloud", "cloud.wdc.example");
+        RemoteWebDriver driver = StubDriverProvider.createDriver("https://hub.cloud.wdc.example/wd/hub", Map.of(
+                "browserName", "chrome",
+                "platformName", "windows"));
+        try {
+            Assertions.assertTrue(WebDriverChecker.isCloud(vendor, driver));
+            Assertions.assertFalse(WebDriverChecker.isCloud(CloudVendor.BROWSERSTACK, driver));
+            Assertions.assertFalse(WebDriverChecker.isBrowserStack(driver));
+            Assertions.assertFalse(WebDriverChecker.isSauceLabs(driver));
+        } finally {
+            driver.quit();
+        }
+    }
+}
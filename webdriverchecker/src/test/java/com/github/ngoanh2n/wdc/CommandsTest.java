@@ -0,0 +1,103 @@
+package com.github.ngoanh2n.wdc;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.remote.*;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author ngoanh2n
+ */
+public class CommandsTest {
+    @Test
+    void definedOnce() {
+        List<String> definitions = new ArrayList<>();
+        CommandCodec<HttpRequest> codec = new RecordingCodec(definitions);
+        CommandInfo timeouts = new CommandInfo("/session/:sessionId/timeouts", HttpMethod.GET);
+
+        Commands.define(codec, "wdcGetTimeouts", timeouts);
+        Commands.define(codec, "wdcGetTimeouts", timeouts);
+        Commands.define(codec, "wdcGetTimeouts", new CommandInfo("/session/:sessionId/timeouts", HttpMethod.GET));
+        Assertions.assertEquals(List.of("wdcGetTimeouts GET /session/:sessionId/timeouts"), definitions);
+
+        Commands.define(codec, "wdcGetTimeouts", new CommandInfo("/session/:sessionId/timeouts", HttpMethod.POST));
+        Assertions.assertEquals(2, definitions.size());
+
+        Commands.define(new RecordingCodec(definitions), "wdcGetTimeouts", timeouts);
+        Assertions.assertEquals(3, definitions.size());
+    }
+
+    @Test
+    void dispatchedConcurrently() {
+        int count = 4;
+        CountDownLatch inFlight = new CountDownLatch(count);
+        CommandExecutor executor = command -> {
+            inFlight.countDown();
+            try {
+                if (!inFlight.await(5, TimeUnit.SECONDS)) {
+                    throw new IOException("Commands are dispatched one after another");
+                }
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            Response response = new Response();
+            response.setValue(command.getName());
+            return response;
+        };
+
+        List<CompletableFuture<Response>> futures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            futures.add(Commands.dispatch(executor, new Command(null, "command" + i)));
+        }
+        for (int i = 0; i < count; i++) {
+            Assertions.assertEquals("command" + i, Commands.await(futures.get(i)).getValue());
+        }
+    }
+
+    @Test
+    void failure() {
+        CommandExecutor executor = command -> {
+            throw new IOException("Connection refused");
+        };
+        CompletableFuture<Response> future = Commands.dispatch(executor, new Command(null, "command"));
+
+        RuntimeException exception = Assertions.assertThrows(RuntimeException.class, () -> Commands.await(future));
+        Assertions.assertTrue(exception.getCause() instanceof IOException);
+    }
+
+    private static final class RecordingCodec implements CommandCodec<HttpRequest> {
+        private final List<String> definitions;
+
+        private RecordingCodec(List<String> definitions) {
+            this.definitions = definitions;
+        }
+
+        @Override
+        public HttpRequest encode(Command command) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Command decode(HttpRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void defineCommand(String name, HttpMethod method, String pathPattern) {
+            definitions.add(name + " " + method + " " + pathPattern);
+        }
+
+        @Override
+        public void alias(String commandAlias, String aliasedCommand) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
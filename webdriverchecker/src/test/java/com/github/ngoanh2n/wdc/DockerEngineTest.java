@@ -0,0 +1,172 @@
+package com.github.ngoanh2n.wdc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * @author ngoanh2n
+ */
+@DisabledOnOs(OS.WINDOWS)
+public class DockerEngineTest {
+    private static final String CONTAINERS = "[" +
+            "{\"Id\":\"a1\",\"Ports\":[" +
+            "{\"IP\":\"0.0.0.0\",\"PrivatePort\":4444,\"PublicPort\":4444,\"Type\":\"tcp\"}," +
+            "{\"PrivatePort\":5900,\"Type\":\"tcp\"}]}," +
+            "{\"Id\":\"b2\",\"Ports\":[" +
+            "{\"IP\":\"127.0.0.1\",\"PrivatePort\":4444,\"PublicPort\":4445,\"Type\":\"tcp\"}]}," +
+            "{\"Id\":\"c3\",\"Ports\":[]}" +
+            "]";
+    private final AtomicReference<String> request = new AtomicReference<>();
+    private Path directory;
+    private UnixDomainSocketAddress address;
+    private ServerSocketChannel server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        directory = Files.createTempDirectory("wdc");
+        address = UnixDomainSocketAddress.of(directory.resolve("docker.sock"));
+        server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        server.bind(address);
+    }
+
+    @Test
+    void bindings() {
+        serve("HTTP/1.0 200 OK\r\nContent-Type: application/json\r\n\r\n" + CONTAINERS);
+        Map<Integer, String> bindings = new DockerEngine(address, Map::of).bindings();
+
+        Assertions.assertTrue(request.get().startsWith("GET /containers/json HTTP/1.0\r\n"));
+        Assertions.assertEquals(Map.of(4444, "0.0.0.0", 4445, "127.0.0.1"), bindings);
+    }
+
+    @Test
+    void chunkedBindings() {
+        int half = CONTAINERS.length() / 2;
+        String first = CONTAINERS.substring(0, half);
+        String second = CONTAINERS.substring(half);
+        serve("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n" +
+                Integer.toHexString(first.length()) + "\r\n" + first + "\r\n" +
+                Integer.toHexString(second.length()) + "\r\n" + second + "\r\n" +
+                "0\r\n\r\n");
+        Map<Integer, String> bindings = new DockerEngine(address, Map::of).bindings();
+
+        Assertions.assertEquals(Map.of(4444, "0.0.0.0", 4445, "127.0.0.1"), bindings);
+    }
+
+    @Test
+    void fallbackOnError() {
+        serve("HTTP/1.0 500 Internal Server Error\r\n\r\n{\"message\":\"boom\"}");
+        Map<Integer, String> bindings = new DockerEngine(address, () -> Map.of(1, "fallback")).bindings();
+
+        Assertions.assertEquals(Map.of(1, "fallback"), bindings);
+    }
+
+    @Test
+    void fallbackOnUnreachableSocket() throws IOException {
+        server.close();
+        Files.deleteIfExists(address.getPath());
+        Map<Integer, String> bindings = new DockerEngine(address, () -> Map.of(1, "fallback")).bindings();
+
+        Assertions.assertEquals(Map.of(1, "fallback"), bindings);
+    }
+
+    @Test
+    void timeoutOnFullBacklog() throws IOException {
+        List<SocketChannel> clients = new ArrayList<>();
+        try (ServerSocketChannel backlog = ServerSocketChannel.open()) {
+            backlog.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1);
+            SocketAddress tcp = backlog.getLocalAddress();
+            for (int i = 0; i < 8; i++) {
+                SocketChannel client = SocketChannel.open();
+                client.configureBlocking(false);
+                client.connect(tcp);
+                clients.add(client);
+            }
+
+            long start = System.nanoTime();
+            Map<Integer, String> bindings = new DockerEngine(tcp, DockerEngineTest::noFallback, 300).bindings();
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            Assertions.assertEquals(Map.of(), bindings);
+            Assertions.assertTrue(elapsed < 3000, "Took " + elapsed + "ms");
+        } finally {
+            for (SocketChannel client : clients) {
+                client.close();
+            }
+        }
+    }
+
+    @Test
+    void timeoutOnSilentServer() {
+        Thread thread = new Thread(() -> {
+            try (SocketChannel ignored = server.accept()) {
+                Thread.sleep(5000);
+            } catch (IOException | InterruptedException ignored) {
+                // Server is closed
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+
+        long start = System.nanoTime();
+        Map<Integer, String> bindings = new DockerEngine(address, DockerEngineTest::noFallback, 300).bindings();
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        Assertions.assertEquals(Map.of(), bindings);
+        Assertions.assertTrue(elapsed < 3000, "Took " + elapsed + "ms");
+        thread.interrupt();
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        server.close();
+        Files.deleteIfExists(address.getPath());
+        Files.deleteIfExists(directory);
+    }
+
+    private static Map<Integer, String> noFallback() {
+        throw new AssertionError("The Docker CLI mustn't be forked against a hung daemon");
+    }
+
+    private void serve(String response) {
+        Thread thread = new Thread(() -> {
+            try (SocketChannel channel = server.accept()) {
+                ByteBuffer buffer = ByteBuffer.allocate(4096);
+                StringBuilder received = new StringBuilder();
+
+                while (!received.toString().contains("\r\n\r\n") && channel.read(buffer) > 0) {
+                    received.append(new String(buffer.array(), 0, buffer.position(), UTF_8));
+                    buffer.clear();
+                }
+                request.set(received.toString());
+                channel.write(ByteBuffer.wrap(response.getBytes(UTF_8)));
+            } catch (IOException ignored) {
+                // Server is closed
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
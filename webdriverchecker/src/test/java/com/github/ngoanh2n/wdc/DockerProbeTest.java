@@ -0,0 +1,48 @@
+package com.github.ngoanh2n.wdc;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.file.Path;
+
+/**
+ * @author ngoanh2n
+ */
+public class DockerProbeTest {
+    @Test
+    void tcpWithPort() {
+        DockerProbe probe = DockerProbe.detect("tcp://192.0.2.10:2380", false);
+        Assertions.assertTrue(probe instanceof DockerEngine);
+        Assertions.assertEquals(new InetSocketAddress("192.0.2.10", 2380), ((DockerEngine) probe).address());
+    }
+
+    @Test
+    void tcpWithoutPort() {
+        DockerProbe probe = DockerProbe.detect("tcp://192.0.2.10", false);
+        Assertions.assertTrue(probe instanceof DockerEngine);
+        Assertions.assertEquals(new InetSocketAddress("192.0.2.10", 2375), ((DockerEngine) probe).address());
+    }
+
+    @Test
+    void tls() {
+        Assertions.assertTrue(DockerProbe.detect("tcp://192.0.2.10", true) instanceof DockerCli);
+        Assertions.assertTrue(DockerProbe.detect("tcp://192.0.2.10:2376", true) instanceof DockerCli);
+    }
+
+    @Test
+    void unix() {
+        DockerProbe probe = DockerProbe.detect("unix:///tmp/docker.sock", false);
+        Assertions.assertTrue(probe instanceof DockerEngine);
+        Assertions.assertEquals(UnixDomainSocketAddress.of(Path.of("/tmp/docker.sock")), ((DockerEngine) probe).address());
+    }
+
+    @Test
+    void malformed() {
+        Assertions.assertTrue(DockerProbe.detect("tcp://host name:2375", false) instanceof DockerCli);
+        Assertions.assertTrue(DockerProbe.detect("tcp://192.0.2.10:99999", false) instanceof DockerCli);
+        Assertions.assertTrue(DockerProbe.detect("tcp://", false) instanceof DockerCli);
+        Assertions.assertTrue(DockerProbe.detect("ssh://user@host", false) instanceof DockerCli);
+    }
+}
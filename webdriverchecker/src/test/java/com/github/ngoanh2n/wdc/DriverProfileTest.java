@@ -0,0 +1,69 @@
+package com.github.ngoanh2n.wdc;
+
+import com.github.ngoanh2n.wdc.driver.StubDriverProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author ngoanh2n
+ */
+public class DriverProfileTest {
+    @Test
+    void sameAsSingleChecks() throws Exception {
+        List<Map<String, Object>> capabilitySets = List.of(
+                Map.of("browserName", "chrome", "platformName", "linux"),
+                Map.of("browserName", "safari", "platformName", "mac"),
+                Map.of("platformName", "android", "appPackage", "com.github.ngoanh2n.app"),
+                Map.of("platformName", "windows", "app", "Microsoft.WindowsCalculator"));
+
+        for (Map<String, Object> capabilities : capabilitySets) {
+            RemoteWebDriver profiled = StubDriverProvider.createDriver("http://localhost:4444", capabilities);
+            RemoteWebDriver checked = StubDriverProvider.createDriver("http://localhost:4444", capabilities);
+            try {
+                DriverProfile profile = WebDriverChecker.profile(profiled);
+                int compared = 0;
+
+                for (Method getter : DriverProfile.class.getMethods()) {
+                    if (!getter.getName().startsWith("is") || getter.getParameterCount() != 0) {
+                        continue;
+                    }
+                    Method checker = WebDriverChecker.class.getMethod(getter.getName(), WebDriver[].class);
+                    Assertions.assertTrue(Modifier.isStatic(checker.getModifiers()), checker.getName());
+
+                    Object expected = checker.invoke(null, (Object) new WebDriver[]{checked});
+                    Assertions.assertEquals(expected, getter.invoke(profile), getter.getName() + " of " + capabilities);
+                    compared++;
+                }
+                Assertions.assertEquals(Check.values().length, compared);
+            } finally {
+                profiled.quit();
+                checked.quit();
+            }
+        }
+    }
+
+    @Test
+    void capabilities() {
+        RemoteWebDriver driver = StubDriverProvider.createDriver("http://localhost:4444", Map.of(
+                "browserName", "MicrosoftEdge",
+                "browserVersion", "124.0.2478.67",
+                "platformName", "windows"));
+        try {
+            DriverProfile profile = WebDriverChecker.profile(driver);
+            Assertions.assertEquals("windows", profile.getPlatformName());
+            Assertions.assertEquals("msedge", profile.getBrowserName());
+            Assertions.assertEquals("124.0.2478.67", profile.getBrowserVersion());
+            Assertions.assertTrue(profile.isEdge());
+            Assertions.assertTrue(profile.toString().contains("EDGE"));
+        } finally {
+            driver.quit();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.ngoanh2n.wdc;
+
+import com.github.ngoanh2n.wdc.driver.StubDriverProvider;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * @author ngoanh2n
+ */
+public class EventsTest {
+    @Test
+    void disabledByDefault() {
+        FlightRecorder.register(Events.Check.class);
+        EventType type = EventType.getEventType(Events.Check.class);
+        Assertions.assertFalse(type.isEnabled());
+        Assertions.assertFalse(new Events.Check().isEnabled());
+    }
+
+    @Test
+    void checks() throws IOException {
+        RemoteWebDriver driver = StubDriverProvider.createDriver("http://localhost:4444", Map.of("browserName", "chrome"));
+        String sessionId = String.valueOf(driver.getSessionId());
+        Path file = Files.createTempFile("wdc", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("com.github.ngoanh2n.wdc.Check").withoutThreshold();
+            recording.start();
+            WebDriverChecker.isChrome(driver);
+            WebDriverChecker.isChrome(driver);
+            recording.stop();
+            recording.dump(file);
+        } finally {
+            driver.quit();
+        }
+
+        List<RecordedEvent> events;
+        try {
+            events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> "Chrome".equals(event.getString("checker")))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        Assertions.assertEquals(2, events.size());
+        Assertions.assertFalse(events.get(0).getBoolean("cached"));
+        Assertions.assertTrue(events.get(1).getBoolean("cached"));
+        Assertions.assertTrue(events.get(1).getBoolean("result"));
+        Assertions.assertEquals(sessionId, events.get(1).getString("sessionId"));
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.ngoanh2n.wdc;
+
+import com.github.ngoanh2n.wdc.driver.StubDriverProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author ngoanh2n
+ */
+public class FanOutTest {
+    private List<RemoteWebDriver> drivers;
+
+    @BeforeEach
+    void createDrivers() {
+        drivers = new ArrayList<>();
+        drivers.add(StubDriverProvider.createDriver("http://localhost:4444", Map.of("browserName", "chrome", "platformName", "linux")));
+        drivers.add(StubDriverProvider.createDriver("http://localhost:4444", Map.of("browserName", "firefox", "platformName", "linux")));
+        drivers.add(StubDriverProvider.createDriver("http://localhost:4444", Map.of("browserName", "chrome", "platformName", "windows")));
+    }
+
+    @AfterEach
+    void quitDrivers() {
+        drivers.forEach(RemoteWebDriver::quit);
+    }
+
+    @Test
+    void checkAll() {
+        Map<SessionId, Boolean> result = WebDriverChecker.checkAll(drivers, WebDriverChecker::isChrome);
+
+        Assertions.assertEquals(
+                List.of(drivers.get(0).getSessionId(), drivers.get(1).getSessionId(), drivers.get(2).getSessionId()),
+                new ArrayList<>(result.keySet()));
+        Assertions.assertEquals(List.of(true, false, true), new ArrayList<>(result.values()));
+    }
+
+    @Test
+    void profileAll() {
+        Map<SessionId, DriverProfile> result = WebDriverChecker.profileAll(drivers);
+
+        Assertions.assertEquals(3, result.size());
+        Assertions.assertTrue(result.get(drivers.get(1).getSessionId()).isFirefox());
+        Assertions.assertTrue(result.get(drivers.get(2).getSessionId()).isWindows());
+    }
+
+    @Test
+    void bounded() throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            drivers.add(StubDriverProvider.createDriver("http://localhost:4444", Map.of("browserName", "chrome")));
+        }
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch paired = new CountDownLatch(2);
+
+        Map<SessionId, Integer> result = FanOut.run(drivers, 2, driver -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            paired.countDown();
+            try {
+                paired.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return 1;
+        });
+
+        Assertions.assertEquals(drivers.size(), result.size());
+        Assertions.assertEquals(2, peak.get());
+    }
+
+    @Test
+    void failure() {
+        AtomicInteger visited = new AtomicInteger();
+        SessionId failing = drivers.get(1).getSessionId();
+
+        IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class, () ->
+                FanOut.run(drivers, 2, driver -> {
+                    visited.incrementAndGet();
+                    if (driver.getSessionId().equals(failing)) {
+                        throw new IllegalStateException("Session is gone");
+                    }
+                    return true;
+                }));
+        Assertions.assertEquals("Session is gone", exception.getMessage());
+        Assertions.assertEquals(drivers.size(), visited.get());
+    }
+
+    @Test
+    void empty() {
+        Assertions.assertEquals(Map.of(), WebDriverChecker.checkAll(Set.of(), WebDriverChecker::isChrome));
+    }
+}
@@ -0,0 +1,143 @@
+package com.github.ngoanh2n.wdc;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.remote.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * @author ngoanh2n
+ */
+public class LifecycleExecutorTest {
+    @Test
+    void lifecycle() throws Exception {
+        List<LifecycleExecutor.Event> events = new CopyOnWriteArrayList<>();
+        LifecycleExecutor.Listener listener = events::add;
+        LifecycleExecutor.addListener(listener);
+        try {
+            RemoteWebDriver driver = new RemoteWebDriver(executor(), new ImmutableCapabilities());
+            SessionId id = driver.getSessionId();
+            Assertions.assertEquals(LifecycleExecutor.Type.CREATED, events.get(0).type());
+            Assertions.assertEquals(id, events.get(0).sessionId());
+            Assertions.assertEquals("chrome", events.get(0).capabilities().get("browserName"));
+
+            Assertions.assertTrue(WebDriverChecker.isChrome(driver));
+            Session session = Session.of(driver);
+            Assertions.assertTrue(session.known(Check.CHROME));
+
+            Map<String, Object> parameters = Map.of("name", "WEBVIEW_1");
+            driver.getCommandExecutor().execute(new Command(id, "switchToContext", parameters));
+            Assertions.assertEquals(LifecycleExecutor.Type.CONTEXT_CHANGED, events.get(1).type());
+            Assertions.assertEquals("WEBVIEW_1", events.get(1).context());
+            Assertions.assertTrue(session.known(Check.CHROME));
+
+            driver.quit();
+            Assertions.assertEquals(LifecycleExecutor.Type.QUIT, events.get(2).type());
+            Assertions.assertEquals(id, events.get(2).sessionId());
+        } finally {
+            LifecycleExecutor.removeListener(listener);
+        }
+    }
+
+    @Test
+    void hybridContext() throws Exception {
+        List<String> commands = new CopyOnWriteArrayList<>();
+        RemoteWebDriver driver = new RemoteWebDriver(executor(commands, Map.of(
+                "platformName", "android",
+                "appPackage", "com.github.ngoanh2n.hybrid")), new ImmutableCapabilities());
+        SessionId id = driver.getSessionId();
+        CommandExecutor executor = driver.getCommandExecutor();
+        try {
+            Assertions.assertTrue(WebDriverChecker.isAndroidNative(driver));
+
+            executor.execute(new Command(id, "switchToContext", Map.of("name", "WEBVIEW_1")));
+            Assertions.assertFalse(WebDriverChecker.isNative(driver));
+            Assertions.assertFalse(WebDriverChecker.isAndroidNative(driver));
+            Assertions.assertTrue(WebDriverChecker.isAndroid(driver));
+
+            executor.execute(new Command(id, "switchToContext", Map.of("name", "NATIVE_APP")));
+            Assertions.assertTrue(WebDriverChecker.isAndroidNative(driver));
+            Assertions.assertFalse(commands.contains("wdcGetContext"));
+        } finally {
+            driver.quit();
+        }
+    }
+
+    @Test
+    void appLifecycle() throws Exception {
+        List<LifecycleExecutor.Event> events = new CopyOnWriteArrayList<>();
+        LifecycleExecutor.Listener listener = events::add;
+        RemoteWebDriver driver = new RemoteWebDriver(executor(new CopyOnWriteArrayList<>(), Map.of(
+                "platformName", "android",
+                "appPackage", "com.github.ngoanh2n.hybrid")), new ImmutableCapabilities());
+        SessionId id = driver.getSessionId();
+        CommandExecutor executor = driver.getCommandExecutor();
+        LifecycleExecutor.addListener(listener);
+        try {
+            executor.execute(new Command(id, "switchToContext", Map.of("name", "WEBVIEW_1")));
+            Assertions.assertFalse(WebDriverChecker.isNative(driver));
+            Assertions.assertTrue(WebDriverChecker.isAndroid(driver));
+
+            executor.execute(new Command(id, "activateApp", Map.of("appId", "com.github.ngoanh2n.other")));
+            Assertions.assertNull(events.get(1).context());
+            Assertions.assertFalse(Session.of(driver).known(Check.NATIVE));
+            Assertions.assertTrue(Session.of(driver).known(Check.ANDROID));
+            Assertions.assertTrue(WebDriverChecker.isNative(driver));
+
+            executor.execute(new Command(id, "switchToContext", Map.of("name", "WEBVIEW_1")));
+            Assertions.assertFalse(WebDriverChecker.isNative(driver));
+            executor.execute(new Command(id, DriverCommand.EXECUTE_SCRIPT, Map.of(
+                    "script", "mobile: startActivity", "args", List.of())));
+            Assertions.assertFalse(Session.of(driver).known(Check.NATIVE));
+            Assertions.assertEquals(LifecycleExecutor.Type.CONTEXT_CHANGED, events.get(events.size() - 1).type());
+        } finally {
+            LifecycleExecutor.removeListener(listener);
+            driver.quit();
+        }
+    }
+
+    @Test
+    void brokenListener() {
+        LifecycleExecutor.Listener listener = event -> {
+            throw new IllegalStateException("Broken listener");
+        };
+        LifecycleExecutor.addListener(listener);
+        try {
+            RemoteWebDriver driver = new RemoteWebDriver(executor(), new ImmutableCapabilities());
+            Assertions.assertTrue(WebDriverChecker.isChrome(driver));
+            driver.quit();
+        } finally {
+            LifecycleExecutor.removeListener(listener);
+        }
+    }
+
+    @Test
+    void wrappedOnce() {
+        LifecycleExecutor executor = executor();
+        Assertions.assertSame(executor, LifecycleExecutor.wrap(executor));
+        Assertions.assertEquals(Snapshot.Executor.OTHER, Snapshot.Executor.of(executor));
+        Assertions.assertThrows(CheckerException.class, () -> LifecycleExecutor.wrap(null));
+    }
+
+    private static LifecycleExecutor executor() {
+        return executor(new CopyOnWriteArrayList<>(), Map.of("browserName", "chrome", "platformName", "linux"));
+    }
+
+    private static LifecycleExecutor executor(List<String> commands, Map<String, Object> capabilities) {
+        SessionId id = new SessionId(UUID.randomUUID());
+        return LifecycleExecutor.wrap(command -> {
+            commands.add(command.getName());
+            Response response = new Response(id);
+            response.setStatus(ErrorCodes.SUCCESS);
+            if (DriverCommand.NEW_SESSION.equals(command.getName())) {
+                response.setValue(capabilities);
+            }
+            return response;
+        });
+    }
+}
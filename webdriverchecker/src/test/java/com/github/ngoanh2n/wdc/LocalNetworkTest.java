@@ -0,0 +1,103 @@
+package com.github.ngoanh2n.wdc;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author ngoanh2n
+ */
+public class LocalNetworkTest {
+    @Test
+    void local() throws Exception {
+        Assertions.assertTrue(LocalNetwork.isLocal("localhost"));
+        Assertions.assertTrue(LocalNetwork.isLocal("127.0.0.1"));
+        Assertions.assertTrue(LocalNetwork.isLocal("0.0.0.0"));
+
+        for (NetworkInterface ni : Collections.list(NetworkInterface.getNetworkInterfaces())) {
+            for (InetAddress address : Collections.list(ni.getInetAddresses())) {
+                Assertions.assertTrue(LocalNetwork.isLocal(address.getHostAddress()), address.getHostAddress());
+            }
+        }
+    }
+
+    @Test
+    void notLocal() {
+        Assertions.assertFalse(LocalNetwork.isLocal("192.0.2.10"));
+        Assertions.assertFalse(LocalNetwork.isLocal("wdc.invalid"));
+        Assertions.assertFalse(LocalNetwork.isLocal(""));
+        Assertions.assertFalse(LocalNetwork.isLocal(null));
+    }
+
+    @Test
+    void cached() {
+        AtomicInteger lookups = new AtomicInteger();
+        LocalNetwork.Resolver resolver = new LocalNetwork.Resolver(host -> {
+            lookups.incrementAndGet();
+            return new InetAddress[]{InetAddress.getLoopbackAddress()};
+        }, Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ofSeconds(5));
+
+        Assertions.assertEquals(1, resolver.resolve("grid").length);
+        Assertions.assertEquals(1, resolver.resolve("grid").length);
+        Assertions.assertEquals(1, lookups.get());
+    }
+
+    @Test
+    void negativeCached() {
+        AtomicInteger lookups = new AtomicInteger();
+        LocalNetwork.Resolver resolver = new LocalNetwork.Resolver(host -> {
+            lookups.incrementAndGet();
+            throw new UnknownHostException(host);
+        }, Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ofSeconds(5));
+
+        Assertions.assertEquals(0, resolver.resolve("grid").length);
+        Assertions.assertEquals(0, resolver.resolve("grid").length);
+        Assertions.assertEquals(1, lookups.get());
+    }
+
+    @Test
+    void expired() {
+        AtomicInteger lookups = new AtomicInteger();
+        LocalNetwork.Resolver resolver = new LocalNetwork.Resolver(host -> {
+            lookups.incrementAndGet();
+            throw new UnknownHostException(host);
+        }, Duration.ofMinutes(1), Duration.ZERO, Duration.ofSeconds(5));
+
+        resolver.resolve("grid");
+        resolver.resolve("grid");
+        Assertions.assertEquals(2, lookups.get());
+    }
+
+    @Test
+    void timeout() {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger lookups = new AtomicInteger();
+        LocalNetwork.Resolver resolver = new LocalNetwork.Resolver(host -> {
+            lookups.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+            return new InetAddress[]{InetAddress.getLoopbackAddress()};
+        }, Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ofMillis(200));
+
+        try {
+            long start = System.nanoTime();
+            Assertions.assertEquals(0, resolver.resolve("slow").length);
+            Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 2000);
+
+            Assertions.assertEquals(0, resolver.resolve("slow").length);
+            Assertions.assertEquals(1, lookups.get());
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.ngoanh2n.wdc;
+
+import com.github.ngoanh2n.wdc.driver.StubDriverProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+/**
+ * @author ngoanh2n
+ */
+public class MetricsTest {
+    @BeforeEach
+    void reset() {
+        Metrics.reset();
+    }
+
+    @Test
+    void checkers() {
+        RemoteWebDriver driver = StubDriverProvider.createDriver("http://localhost:4444", Map.of("browserName", "chrome"));
+        try {
+            WebDriverChecker.isChrome(driver);
+            WebDriverChecker.isChrome(driver);
+        } finally {
+            driver.quit();
+        }
+
+        Metrics.Snapshot snapshot = Metrics.snapshot();
+        Metrics.Timing chrome = snapshot.checkers().get("Chrome");
+        Assertions.assertEquals(2, chrome.count());
+        Assertions.assertTrue(chrome.maxNanos() > 0);
+        Assertions.assertEquals(1, snapshot.caches().get("verdict").misses());
+        Assertions.assertEquals(1, snapshot.caches().get("verdict").hits());
+    }
+
+    @Test
+    void failedCheckers() {
+        RemoteWebDriver driver = StubDriverProvider.createDriver("http://localhost:4444", Map.of("browserName", "chrome"));
+        WebDriverChecker.isChrome(driver);
+        driver.quit();
+        Assertions.assertThrows(CheckerException.ClosedDriver.class, () -> WebDriverChecker.isChrome(driver));
+
+        Metrics.Timing chrome = Metrics.snapshot().checkers().get("Chrome");
+        Assertions.assertEquals(2, chrome.count());
+        Assertions.assertEquals(1, chrome.failures());
+    }
+
+    @Test
+    void probes() {
+        Probe<String> probe = Probe.of(() -> "value");
+        probe.get();
+        probe.get();
+        probe.get();
+
+        Metrics.Hits hits = Metrics.snapshot().caches().get("probe");
+        Assertions.assertEquals(1, hits.misses());
+        Assertions.assertEquals(2, hits.hits());
+        Assertions.assertEquals(2.0 / 3, hits.hitRate(), 1e-9);
+    }
+
+    @Test
+    void percentile() {
+        Metrics.Timer timer = new Metrics.Timer();
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            timer.record(start);
+        }
+
+        Metrics.Timing timing = timer.timing();
+        Assertions.assertEquals(100, timing.count());
+        Assertions.assertTrue(timing.percentileNanos(50) <= timing.percentileNanos(99));
+        Assertions.assertTrue(timing.percentileNanos(99) <= timing.maxNanos());
+        Assertions.assertEquals(0, new Metrics.Timer().timing().percentileNanos(99));
+    }
+
+    @Test
+    void buckets() {
+        Assertions.assertEquals(0, Metrics.Timer.bucket(0));
+        Assertions.assertEquals(0, Metrics.Timer.bucket(1));
+        Assertions.assertEquals(10, Metrics.Timer.bucket(1024));
+        Assertions.assertEquals(10, Metrics.Timer.bucket(2047));
+        Assertions.assertEquals(62, Metrics.Timer.bucket(Long.MAX_VALUE));
+    }
+
+    @Test
+    void jmx() throws Exception {
+        Metrics.register();
+        Metrics.register();
+        ObjectName name = new ObjectName(Metrics.OBJECT_NAME);
+        Assertions.assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+        Assertions.assertNotNull(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "CacheHits"));
+    }
+}
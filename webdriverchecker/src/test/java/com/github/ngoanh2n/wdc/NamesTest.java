@@ -0,0 +1,144 @@
+package com.github.ngoanh2n.wdc;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.Platform;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * @author ngoanh2n
+ */
+public class NamesTest {
+    private final Random random = new Random(20201020);
+
+    @Test
+    void platforms() {
+        Assertions.assertEquals("mac", Names.platform("mac", ""));
+        Assertions.assertEquals("mac", Names.platform("macOS", ""));
+        Assertions.assertEquals("windows", Names.platform("WIN11", ""));
+        Assertions.assertEquals("linux", Names.platform("LINUX", ""));
+        Assertions.assertEquals("ios", Names.platform("iOS", ""));
+        Assertions.assertEquals("android", Names.platform("Android", ""));
+        Assertions.assertEquals("windows", Names.platform("ANY", "Windows"));
+        Assertions.assertEquals("linux", Names.platform("", "linux"));
+        Assertions.assertEquals("any", Names.platform("any", ""));
+        Assertions.assertEquals("", Names.platform("", ""));
+        Assertions.assertEquals("", Names.platform("plan9", "beos"));
+    }
+
+    @Test
+    void browsers() {
+        Assertions.assertEquals("chrome", Names.browser("chrome"));
+        Assertions.assertEquals("chrome", Names.browser("Chrome"));
+        Assertions.assertEquals("msedge", Names.browser("MicrosoftEdge"));
+        Assertions.assertEquals("msedge", Names.browser("Microsoft Edge"));
+        Assertions.assertEquals("internetexplorer", Names.browser("internet explorer"));
+        Assertions.assertEquals("safari", Names.browser("Safari Technology Preview"));
+        Assertions.assertEquals("chromium", Names.browser("Chromium"));
+        Assertions.assertEquals("", Names.browser(""));
+    }
+
+    @Test
+    void fuzzPlatformNames() {
+        for (Platform platform : Platform.values()) {
+            for (int i = 0; i < 50; i++) {
+                String name = mixCase(platform.name());
+                Assertions.assertEquals(legacy(name, ""), Names.platform(name, ""), name);
+            }
+        }
+    }
+
+    @Test
+    void fuzzPlatformAliases() {
+        List<String> aliases = new ArrayList<>();
+        for (Platform platform : Platform.values()) {
+            aliases.add(platform.toString());
+            aliases.addAll(List.of(platform.getPartOfOsName()));
+        }
+        for (String alias : aliases) {
+            for (int i = 0; i < 20; i++) {
+                String value = mixCase(alias);
+                Assertions.assertEquals(canonical(Platform.fromString(value)), Names.platform("", value), value);
+                Assertions.assertEquals(canonical(Platform.fromString(value)), Names.platform("ANY", value), value);
+            }
+        }
+    }
+
+    @Test
+    void fuzzGarbage() {
+        for (int i = 0; i < 10000; i++) {
+            String value = garbage();
+            String platform = Names.platform(value, value);
+            Assertions.assertNotNull(platform);
+            if (!platform.isEmpty()) {
+                Assertions.assertEquals(selenium(value.trim(), platform), platform, value);
+            }
+            Assertions.assertNotNull(Names.browser(value));
+        }
+    }
+
+    @Test
+    void fuzzBrowserNames() {
+        for (String name : List.of("chrome", "firefox", "safari", "opera", "msedge", "internetexplorer")) {
+            for (int i = 0; i < 50; i++) {
+                String value = mixCase(name);
+                Assertions.assertEquals(name, Names.browser(value), value);
+            }
+        }
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private String mixCase(String value) {
+        StringBuilder builder = new StringBuilder();
+        for (char c : value.toCharArray()) {
+            builder.append(random.nextBoolean() ? Character.toUpperCase(c) : Character.toLowerCase(c));
+        }
+        return builder.toString();
+    }
+
+    private String garbage() {
+        String alphabet = "abcdeilmnopstuwxAIMNOSWX _-.0123456789";
+        StringBuilder builder = new StringBuilder();
+        int length = random.nextInt(12);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+
+    private static String canonical(Platform platform) {
+        if (platform.family() != null && !platform.equals(Platform.LINUX)) {
+            platform = platform.family();
+        }
+        return platform.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static String selenium(String value, String alias) {
+        try {
+            return canonical(Platform.fromString(value));
+        } catch (RuntimeException ignored) {
+            // Vendor alias which Selenium doesn't know, e.g. iPadOS
+            return alias;
+        }
+    }
+
+    /*
+     * Normalization before the table: Platform.valueOf of the upper-cased platformName.
+     */
+    private static String legacy(String platformName, String platform) {
+        try {
+            Platform value = Platform.valueOf(platformName.toUpperCase());
+            if (value.equals(Platform.ANY) && !platform.isEmpty()) {
+                value = Platform.fromString(platform);
+            }
+            return canonical(value);
+        } catch (RuntimeException ignored) {
+            return "";
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.github.ngoanh2n.wdc;
+
+import com.github.ngoanh2n.wdc.driver.StubDriverProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author ngoanh2n
+ */
+public class NativeTest {
+    @Test
+    void hybridContext() {
+        RemoteWebDriver driver = StubDriverProvider.createDriver("http://192.0.2.10:4723", Map.of(
+                "platformName", "android",
+                "appPackage", "com.github.ngoanh2n.hybrid"));
+        try {
+            Session session = Session.of(driver);
+            Assertions.assertEquals("WEBVIEW_1", session.context(TimeUnit.HOURS.toNanos(1), () -> "WEBVIEW_1"));
+            Assertions.assertFalse(WebDriverChecker.isNative(driver));
+            Assertions.assertFalse(WebDriverChecker.isAndroidNative(driver));
+            Assertions.assertTrue(WebDriverChecker.isAndroid(driver));
+
+            Assertions.assertTrue(session.context(Session.NATIVE_APP));
+            Assertions.assertFalse(session.known(Check.NATIVE));
+            Assertions.assertTrue(session.known(Check.ANDROID));
+            Assertions.assertTrue(WebDriverChecker.isNative(driver));
+            Assertions.assertTrue(WebDriverChecker.isAndroidNative(driver));
+            Assertions.assertFalse(session.context(Session.NATIVE_APP));
+        } finally {
+            driver.quit();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.ngoanh2n.wdc;
+
+import com.github.ngoanh2n.wdc.driver.StubDriverProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author ngoanh2n
+ */
+public class OfflineTest {
+    @Test
+    void sameAsSession() {
+        List<Map<String, Object>> capabilitySets = List.of(
+                Map.of("browserName", "chrome", "platformName", "linux"),
+                Map.of("browserName", "MicrosoftEdge", "platformName", "Windows 11"),
+                Map.of("browserName", "safari", "platformName", "mac"),
+                Map.of("browserName", "chrome", "platformName", "android"),
+                Map.of("platformName", "android", "appPackage", "com.github.ngoanh2n.app"),
+                Map.of("platformName", "iOS", "app", "/tmp/app.ipa"),
+                Map.of("platformName", "windows", "app", "Microsoft.WindowsCalculator"),
+                Map.of("platformName", "iOS", "appium:app", "/tmp/app.ipa"),
+                Map.of("platformName", "android", "appium:appPackage", "com.github.ngoanh2n.app"),
+                Map.of("platformName", "android", "appium:options", Map.of("appPackage", "com.github.ngoanh2n.app")));
+
+        for (Map<String, Object> capabilities : capabilitySets) {
+            DriverProfile offline = WebDriverChecker.of(new ImmutableCapabilities(capabilities));
+            RemoteWebDriver driver = StubDriverProvider.createDriver("http://localhost:4444", capabilities);
+            try {
+                DriverProfile online = WebDriverChecker.profile(driver);
+                Assertions.assertEquals(online.getPlatformName(), offline.getPlatformName());
+                Assertions.assertEquals(online.getBrowserName(), offline.getBrowserName());
+                for (Check check : Check.values()) {
+                    if (offline.isKnown(check)) {
+                        Assertions.assertEquals(online.is(check), offline.is(check), check + " of " + capabilities);
+                    }
+                }
+            } finally {
+                driver.quit();
+            }
+        }
+    }
+
+    @Test
+    void unknown() {
+        DriverProfile profile = WebDriverChecker.of(new ImmutableCapabilities(Map.of(
+                "browserName", "chrome",
+                "platformName", "android")));
+        Assertions.assertTrue(profile.isAndroidBrowser());
+        Assertions.assertTrue(profile.isKnown(Check.MOBILE_BROWSER));
+        Assertions.assertFalse(profile.isKnown(Check.LOCAL));
+        Assertions.assertFalse(profile.isKnown(Check.DOCKER));
+        Assertions.assertFalse(profile.isKnown(Check.ANDROID_VIRTUAL));
+        Assertions.assertFalse(profile.isKnown(Check.BROWSERSTACK));
+        Assertions.assertFalse(profile.isLocal());
+
+        Assertions.assertTrue(profile.isKnown(Check.IOS_VIRTUAL));
+        Assertions.assertFalse(profile.isIOSVirtual());
+        Assertions.assertTrue(profile.toString().contains("unknown=[LOCAL"));
+    }
+
+    @Test
+    void json() {
+        DriverProfile request = WebDriverChecker.ofJson("""
+                {"capabilities": {
+                  "alwaysMatch": {"platformName": "Android", "appium:automationName": "UiAutomator2"},
+                  "firstMatch": [{"appium:options": {"appPackage": "com.github.ngoanh2n.app"}}, {"browserName": "chrome"}]
+                }}""");
+        Assertions.assertTrue(request.isAndroidNative());
+        Assertions.assertFalse(request.isBrowser());
+
+        DriverProfile response = WebDriverChecker.ofJson("""
+                {"value": {"sessionId": "1", "capabilities": {"browserName": "firefox", "browserVersion": "128.0b3", "platformName": "linux"}}}""");
+        Assertions.assertTrue(response.isFirefox());
+        Assertions.assertTrue(response.isPCBrowser());
+        Assertions.assertEquals("128.0b3", response.getBrowserVersion());
+
+        DriverProfile hybrid = WebDriverChecker.ofJson("""
+                {"platformName": "iOS", "appium:app": "/tmp/app.ipa", "appium:autoWebview": true}""");
+        Assertions.assertTrue(hybrid.isIOS());
+        Assertions.assertFalse(hybrid.isNative());
+        Assertions.assertTrue(hybrid.isKnown(Check.NATIVE));
+    }
+
+    @Test
+    void invalid() {
+        Assertions.assertThrows(CheckerException.class, () -> WebDriverChecker.ofJson(""));
+        Assertions.assertThrows(CheckerException.class, () -> WebDriverChecker.ofJson("[]"));
+        Assertions.assertThrows(CheckerException.class, () -> WebDriverChecker.ofJson("{\"browserName\": "));
+        Assertions.assertThrows(CheckerException.class, () -> WebDriverChecker.of(null));
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.ngoanh2n.wdc;
+
+import com.github.ngoanh2n.wdc.driver.StubDriverProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author ngoanh2n
+ */
+public class PlanTest {
+    @Test
+    void orderedByCost() {
+        Plan plan = WebDriverChecker.plan(
+                EnumSet.of(Check.DOCKER, Check.ANDROID, Check.LOCAL),
+                EnumSet.of(Check.MOBILE_VIRTUAL, Check.CHROME));
+
+        Assertions.assertEquals(List.of(
+                new Plan.Step(Check.ANDROID, true),
+                new Plan.Step(Check.CHROME, false),
+                new Plan.Step(Check.LOCAL, true),
+                new Plan.Step(Check.DOCKER, true),
+                new Plan.Step(Check.MOBILE_VIRTUAL, false)), plan.steps());
+        Assertions.assertEquals("Plan{ANDROID[CAPABILITY] -> !CHROME[CAPABILITY] -> LOCAL[NETWORK] -> DOCKER[PROCESS] -> !MOBILE_VIRTUAL[PROCESS]}",
+                plan.toString());
+    }
+
+    @Test
+    void nativeAfterCapabilities() {
+        Plan plan = WebDriverChecker.plan(
+                EnumSet.of(Check.NATIVE, Check.ANDROID),
+                EnumSet.of(Check.CHROME));
+
+        Assertions.assertEquals(List.of(
+                new Plan.Step(Check.ANDROID, true),
+                new Plan.Step(Check.CHROME, false),
+                new Plan.Step(Check.NATIVE, true)), plan.steps());
+        for (Check check : Check.values()) {
+            if (check.contextual()) {
+                Assertions.assertEquals(Check.Cost.NETWORK, check.cost(), check.name());
+            }
+        }
+    }
+
+    @Test
+    void cached() {
+        Plan plan = Plan.of(EnumSet.of(Check.IOS, Check.NATIVE), EnumSet.noneOf(Check.class));
+        Assertions.assertSame(plan, Plan.of(EnumSet.of(Check.NATIVE, Check.IOS), EnumSet.noneOf(Check.class)));
+        Assertions.assertNotSame(plan, Plan.of(EnumSet.of(Check.IOS), EnumSet.of(Check.NATIVE)));
+    }
+
+    @Test
+    void expensiveStepsAreSkipped() {
+        RemoteWebDriver driver = StubDriverProvider.createDriver("http://localhost:4444", Map.of(
+                "browserName", "firefox",
+                "platformName", "linux"));
+        try {
+            Assertions.assertFalse(WebDriverChecker.matches(driver,
+                    EnumSet.of(Check.DOCKER, Check.CHROME),
+                    EnumSet.of(Check.MOBILE_VIRTUAL)));
+            Session session = Session.of(driver);
+            Assertions.assertTrue(session.known(Check.CHROME));
+            Assertions.assertFalse(session.known(Check.DOCKER));
+            Assertions.assertFalse(session.known(Check.MOBILE_VIRTUAL));
+
+            Assertions.assertFalse(WebDriverChecker.isAndroidVirtual(driver));
+            Assertions.assertFalse(session.known(Check.MOBILE_VIRTUAL));
+        } finally {
+            driver.quit();
+        }
+    }
+
+    @Test
+    void compositeCosts() {
+        for (Check check : Check.values()) {
+            if (check.name().endsWith("VIRTUAL") || check == Check.DOCKER) {
+                Assertions.assertEquals(Check.Cost.PROCESS, check.cost(), check.name());
+            }
+        }
+        Assertions.assertEquals(Check.Cost.CAPABILITY, Check.CHROME.cost());
+    }
+}
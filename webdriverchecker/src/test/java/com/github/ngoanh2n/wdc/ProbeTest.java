@@ -0,0 +1,66 @@
+package com.github.ngoanh2n.wdc;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author ngoanh2n
+ */
+public class ProbeTest {
+    @Test
+    void cached() {
+        AtomicInteger runs = new AtomicInteger();
+        Probe<Integer> probe = Probe.of(runs::incrementAndGet);
+
+        Assertions.assertEquals(1, probe.get());
+        Assertions.assertEquals(1, probe.get());
+        Assertions.assertEquals(1, runs.get());
+
+        probe.invalidate();
+        Assertions.assertEquals(2, probe.get());
+    }
+
+    @Test
+    void coalesced() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Probe<Integer> probe = Probe.of(() -> {
+            started.countDown();
+            await(release);
+            return runs.incrementAndGet();
+        });
+
+        int threads = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(probe::get));
+            }
+            started.await();
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<Integer> result : results) {
+                Assertions.assertEquals(1, result.get(10, TimeUnit.SECONDS));
+            }
+            Assertions.assertEquals(1, runs.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
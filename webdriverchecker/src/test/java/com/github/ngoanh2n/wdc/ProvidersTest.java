@@ -0,0 +1,181 @@
+package com.github.ngoanh2n.wdc;
+
+import com.github.ngoanh2n.wdc.driver.StubDriverProvider;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * @author ngoanh2n
+ */
+public class ProvidersTest {
+    private static final List<String> asked = new CopyOnWriteArrayList<>();
+    private static RemoteWebDriver first;
+    private static RemoteWebDriver second;
+
+    @BeforeAll
+    static void openDrivers() {
+        first = StubDriverProvider.createDriver("http://localhost:4444", Map.of("browserName", "chrome"));
+        second = StubDriverProvider.createDriver("http://localhost:4444", Map.of("browserName", "firefox"));
+    }
+
+    @AfterAll
+    static void closeDrivers() {
+        first.quit();
+        second.quit();
+    }
+
+    @Test
+    void defaultPriority() {
+        WebDriverProvider provider = () -> null;
+        Assertions.assertEquals(0, provider.priority());
+    }
+
+    @Test
+    void orderedByPriority() throws IOException {
+        ServiceClassLoader loader = new ServiceClassLoader(Second.class, First.class, Empty.class);
+        WebDriver driver = withLoader(loader, Providers::provide);
+
+        Assertions.assertSame(first, driver);
+        Assertions.assertEquals(List.of(Empty.class.getSimpleName(), First.class.getSimpleName()), asked);
+        Assertions.assertTrue(withLoader(loader, Providers::exist));
+    }
+
+    @Test
+    void filteredByProperty() throws IOException {
+        ServiceClassLoader loader = new ServiceClassLoader(Second.class, First.class, Empty.class);
+        Assertions.assertSame(first, withLoader(loader, Providers::provide));
+
+        System.setProperty("wdc.provider", Second.class.getName());
+        try {
+            Assertions.assertSame(second, withLoader(loader, Providers::provide));
+            Assertions.assertEquals(List.of(Second.class.getSimpleName()), asked);
+
+            System.setProperty("wdc.provider", "com.github.ngoanh2n.wdc.Missing");
+            Assertions.assertNull(withLoader(loader, Providers::provide));
+            Assertions.assertFalse(withLoader(loader, Providers::exist));
+        } finally {
+            System.clearProperty("wdc.provider");
+        }
+        Assertions.assertSame(first, withLoader(loader, Providers::provide));
+        Assertions.assertEquals(1, loader.lookups.get());
+    }
+
+    @Test
+    void nothingProvided() throws IOException {
+        ServiceClassLoader loader = new ServiceClassLoader(Empty.class);
+        Assertions.assertNull(withLoader(loader, Providers::provide));
+        Assertions.assertTrue(withLoader(loader, Providers::exist));
+
+        ServiceClassLoader none = new ServiceClassLoader();
+        Assertions.assertFalse(withLoader(none, Providers::exist));
+    }
+
+    @Test
+    void registeredOverridesDiscovered() throws IOException {
+        ServiceClassLoader loader = new ServiceClassLoader(First.class);
+        Providers.register(() -> second);
+        try {
+            Assertions.assertSame(second, withLoader(loader, Providers::provide));
+            Assertions.assertTrue(asked.isEmpty());
+        } finally {
+            Providers.register(null);
+        }
+        Assertions.assertSame(first, withLoader(loader, Providers::provide));
+    }
+
+    @Test
+    void cachedPerClassLoader() throws IOException {
+        ServiceClassLoader loader = new ServiceClassLoader(First.class);
+        withLoader(loader, Providers::provide);
+        withLoader(loader, Providers::provide);
+        Assertions.assertEquals(1, loader.lookups.get());
+
+        ServiceClassLoader other = new ServiceClassLoader(First.class);
+        withLoader(other, Providers::provide);
+        Assertions.assertEquals(1, other.lookups.get());
+    }
+
+    private static <T> T withLoader(ClassLoader loader, Supplier<T> action) {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        asked.clear();
+        thread.setContextClassLoader(loader);
+        try {
+            return action.get();
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    //===============================================================================//
+
+    public static class First implements WebDriverProvider {
+        @Override
+        public WebDriver provide() {
+            asked.add(getClass().getSimpleName());
+            return first;
+        }
+    }
+
+    public static class Second implements WebDriverProvider {
+        @Override
+        public WebDriver provide() {
+            asked.add(getClass().getSimpleName());
+            return second;
+        }
+    }
+
+    public static class Empty implements WebDriverProvider {
+        @Override
+        public WebDriver provide() {
+            asked.add(getClass().getSimpleName());
+            return null;
+        }
+
+        @Override
+        public int priority() {
+            return 10;
+        }
+    }
+
+    private static final class ServiceClassLoader extends ClassLoader {
+        private static final String SERVICE = "META-INF/services/" + WebDriverProvider.class.getName();
+        private final AtomicInteger lookups = new AtomicInteger();
+        private final URL services;
+
+        private ServiceClassLoader(Class<?>... providers) throws IOException {
+            super(ProvidersTest.class.getClassLoader());
+            StringBuilder lines = new StringBuilder();
+            for (Class<?> provider : providers) {
+                lines.append(provider.getName()).append('\n');
+            }
+            Path file = Files.createTempFile("wdc-providers", ".txt");
+            file.toFile().deleteOnExit();
+            Files.writeString(file, lines.toString(), StandardCharsets.UTF_8);
+            this.services = file.toUri().toURL();
+        }
+
+        @Override
+        public Enumeration<URL> getResources(String name) throws IOException {
+            if (SERVICE.equals(name)) {
+                lookups.incrementAndGet();
+                return Collections.enumeration(List.of(services));
+            }
+            return super.getResources(name);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.github.ngoanh2n.wdc;
+
+import com.github.ngoanh2n.wdc.driver.StubDriverProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @author ngoanh2n
+ */
+public class SessionTest {
+    @Test
+    void snapshotPerSession() {
+        RemoteWebDriver chrome = StubDriverProvider.createDriver("http://localhost:4444", Map.of(
+                "browserName", "chrome",
+                "platformName", "linux"));
+        RemoteWebDriver firefox = StubDriverProvider.createDriver("http://localhost:4444", Map.of(
+                "browserName", "firefox",
+                "platformName", "linux"));
+        try {
+            Snapshot snapshot = Session.of(chrome).snapshot();
+            Assertions.assertTrue(WebDriverChecker.isChrome(chrome));
+            Assertions.assertTrue(WebDriverChecker.isPCBrowser(chrome));
+            Assertions.assertSame(snapshot, Session.of(chrome).snapshot());
+            Assertions.assertSame(Session.of(chrome), Session.of(chrome));
+
+            Assertions.assertNotSame(snapshot, Session.of(firefox).snapshot());
+            Assertions.assertEquals("chrome", snapshot.browserName());
+            Assertions.assertEquals("firefox", Session.of(firefox).snapshot().browserName());
+        } finally {
+            chrome.quit();
+            firefox.quit();
+        }
+    }
+
+    @Test
+    void evictedOnQuit() {
+        RemoteWebDriver driver = StubDriverProvider.createDriver("http://localhost:4444", Map.of(
+                "browserName", "chrome",
+                "platformName", "linux"));
+        SessionId id = driver.getSessionId();
+        Assertions.assertTrue(WebDriverChecker.isChrome(driver));
+        Assertions.assertTrue(Session.contains(id));
+
+        driver.quit();
+        Assertions.assertThrows(CheckerException.ClosedDriver.class, () -> WebDriverChecker.isChrome(driver));
+        Assertions.assertFalse(Session.contains(id));
+        Assertions.assertThrows(CheckerException.ClosedDriver.class, () -> Session.of(driver));
+    }
+
+    @Test
+    void verdictsMemoized() {
+        RemoteWebDriver driver = StubDriverProvider.createDriver("http://localhost:4444", Map.of(
+                "browserName", "chrome",
+                "platformName", "linux"));
+        try {
+            Session session = Session.of(driver);
+            AtomicInteger evaluations = new AtomicInteger();
+
+            Assertions.assertFalse(session.known(Check.SAFARI));
+            Assertions.assertFalse(session.verdict(Check.SAFARI, () -> evaluations.incrementAndGet() < 0));
+            Assertions.assertTrue(session.known(Check.SAFARI));
+            Assertions.assertFalse(session.verdict(Check.SAFARI, () -> evaluations.incrementAndGet() > 0));
+
+            Assertions.assertTrue(session.verdict(Check.CHROME, () -> evaluations.incrementAndGet() > 0));
+            Assertions.assertTrue(session.verdict(Check.CHROME, () -> evaluations.incrementAndGet() < 0));
+            Assertions.assertFalse(session.verdict(Check.SAFARI, () -> true));
+            Assertions.assertEquals(2, evaluations.get());
+        } finally {
+            driver.quit();
+        }
+    }
+
+    @Test
+    void falseVerdictClearsValue() {
+        RemoteWebDriver driver = StubDriverProvider.createDriver("http://192.0.2.10:4723", Map.of(
+                "platformName", "android",
+                "appPackage", "com.github.ngoanh2n.hybrid"));
+        try {
+            Session session = Session.of(driver);
+            session.context(Session.NATIVE_APP);
+            Assertions.assertTrue(session.verdict(Check.NATIVE, () -> true));
+
+            session.context("WEBVIEW_1");
+            Assertions.assertFalse(session.known(Check.NATIVE));
+            Assertions.assertFalse(session.verdict(Check.NATIVE, () -> false));
+            Assertions.assertTrue(session.known(Check.NATIVE));
+            Assertions.assertFalse(session.verdict(Check.NATIVE, () -> true));
+        } finally {
+            driver.quit();
+        }
+    }
+
+    @Test
+    void contextSwitchedDuringEvaluation() throws Exception {
+        RemoteWebDriver driver = StubDriverProvider.createDriver("http://192.0.2.10:4723", Map.of(
+                "platformName", "android",
+                "appPackage", "com.github.ngoanh2n.hybrid"));
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Session session = Session.of(driver);
+            session.context(Session.NATIVE_APP);
+            CountDownLatch evaluating = new CountDownLatch(1);
+            CountDownLatch switched = new CountDownLatch(1);
+
+            Future<Boolean> verdict = pool.submit(() -> session.verdict(Check.NATIVE, () -> {
+                evaluating.countDown();
+                await(switched);
+                return true;
+            }));
+            await(evaluating);
+            session.context("WEBVIEW_1");
+            switched.countDown();
+
+            Assertions.assertTrue(verdict.get(5, TimeUnit.SECONDS));
+            Assertions.assertFalse(session.known(Check.NATIVE));
+            Assertions.assertFalse(session.verdict(Check.NATIVE, () -> false));
+        } finally {
+            pool.shutdownNow();
+            driver.quit();
+        }
+    }
+
+    @Test
+    void contextSwitchedConcurrently() throws Exception {
+        RemoteWebDriver driver = StubDriverProvider.createDriver("http://192.0.2.10:4723", Map.of(
+                "platformName", "android",
+                "appPackage", "com.github.ngoanh2n.hybrid"));
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Session session = Session.of(driver);
+            String[] contexts = {Session.NATIVE_APP, "WEBVIEW_1"};
+            AtomicReference<String> current = new AtomicReference<>(Session.NATIVE_APP);
+            session.context(current.get());
+
+            for (int round = 0; round < 200; round++) {
+                List<Future<Boolean>> futures = new ArrayList<>();
+                for (int i = 0; i < 4; i++) {
+                    futures.add(pool.submit(() -> session.verdict(Check.NATIVE,
+                            () -> Session.NATIVE_APP.equals(current.get()))));
+                }
+                current.set(contexts[round % 2]);
+                session.context(current.get());
+                for (Future<Boolean> future : futures) {
+                    future.get(5, TimeUnit.SECONDS);
+                }
+                boolean expected = Session.NATIVE_APP.equals(current.get());
+                Assertions.assertEquals(expected, session.verdict(Check.NATIVE, () -> expected), "Round " + round);
+            }
+        } finally {
+            pool.shutdownNow();
+            driver.quit();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out");
+            }
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.github.ngoanh2n.wdc;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * @author ngoanh2n
+ */
+@DisabledOnOs(OS.WINDOWS)
+public class ShellTest {
+    @Test
+    void largeOutput() {
+        Shell.Result result = Shell.run("seq 1 200000", Duration.ofSeconds(30)).join();
+
+        Assertions.assertEquals(0, result.exitCode());
+        Assertions.assertEquals(200000, result.output().length);
+        Assertions.assertEquals("200000", result.output()[199999]);
+    }
+
+    @Test
+    void largeOutputOnBothStreams() {
+        String command = "for i in $(seq 1 50000); do echo out$i; echo err$i >&2; done";
+        Shell.Result result = Shell.run(command, Duration.ofSeconds(30)).join();
+
+        Assertions.assertEquals(50000, result.output().length);
+        Assertions.assertEquals(50000, result.error().length);
+    }
+
+    @Test
+    void timeout() {
+        long start = System.nanoTime();
+        CompletionException exception = Assertions.assertThrows(CompletionException.class,
+                () -> Shell.run("sleep 30 & sleep 30; wait", Duration.ofMillis(500)).join());
+        long elapsed = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        Assertions.assertTrue(exception.getCause() instanceof TimeoutException);
+        Assertions.assertTrue(elapsed < 10000, "Command is not killed at the deadline");
+    }
+
+    @Test
+    void failedCommand() {
+        String[] output = WebDriverChecker.runShell("exit 3");
+        Assertions.assertArrayEquals(new String[]{""}, output);
+    }
+}
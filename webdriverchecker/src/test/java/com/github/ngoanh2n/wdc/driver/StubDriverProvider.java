@@ -0,0 +1,44 @@
+package com.github.ngoanh2n.wdc.driver;
+
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.remote.*;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * @author ngoanh2n
+ */
+public abstract class StubDriverProvider {
+    public static RemoteWebDriver createDriver(String url, Map<String, Object> capabilities) {
+        try {
+            return new RemoteWebDriver(new StubExecutor(new URL(url), capabilities), new ImmutableCapabilities());
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static final class StubExecutor extends HttpCommandExecutor {
+        private final SessionId sessionId = new SessionId(UUID.randomUUID());
+        private final Map<String, Object> capabilities;
+
+        private StubExecutor(URL url, Map<String, Object> capabilities) {
+            super(url);
+            this.capabilities = capabilities;
+        }
+
+        @Override
+        public Response execute(Command command) {
+            Response response = new Response(sessionId);
+            response.setState("success");
+            response.setStatus(ErrorCodes.SUCCESS);
+
+            if (DriverCommand.NEW_SESSION.equals(command.getName())) {
+                response.setValue(capabilities);
+            }
+            return response;
+        }
+    }
+}